@@ -22,6 +22,7 @@ public class ApplicationConfiguration {
   private boolean showSize;
   private boolean continuousScrolling;
   private boolean initializeSynchronously = false;
+  private boolean panelPerWindow = false;
   private boolean indexOnlyEditorGroupsFiles;
   private boolean excludeEditorGroupsFiles;
   private boolean compactTabs;
@@ -33,7 +34,9 @@ public class ApplicationConfiguration {
   private boolean groupSwitchGroupAction = false;
   private boolean showPanel = true;
   private int groupSizeLimit = 10000;
+  private int groupSizeHardLimit = 100000;
   private int tabSizeLimit = 50;
+  private boolean traceGroupSelection;
 
   public static ApplicationConfiguration state() {
     return ApplicationConfigurationComponent.getInstance().getState();
@@ -112,6 +115,14 @@ public class ApplicationConfiguration {
     this.continuousScrolling = continuousScrolling;
   }
 
+  public boolean isTraceGroupSelection() {
+    return traceGroupSelection;
+  }
+
+  public void setTraceGroupSelection(final boolean traceGroupSelection) {
+    this.traceGroupSelection = traceGroupSelection;
+  }
+
   public boolean isInitializeSynchronously() {
     return initializeSynchronously;
   }
@@ -120,6 +131,17 @@ public class ApplicationConfiguration {
     this.initializeSynchronously = initializeSynchronously;
   }
 
+  /**
+   * Only the selected editor of each window has a panel, panels of other editors are disposed when they are deselected.
+   */
+  public boolean isPanelPerWindow() {
+    return panelPerWindow;
+  }
+
+  public void setPanelPerWindow(final boolean panelPerWindow) {
+    this.panelPerWindow = panelPerWindow;
+  }
+
   public boolean isIndexOnlyEditorGroupsFiles() {
     return indexOnlyEditorGroupsFiles;
   }
@@ -243,6 +265,27 @@ public class ApplicationConfiguration {
     this.groupSizeLimit = groupSizeLimit;
   }
 
+  @Transient
+  public String getGroupSizeHardLimit() {
+    return String.valueOf(groupSizeHardLimit);
+  }
+
+  @Transient
+  public void setGroupSizeHardLimit(final String groupSizeHardLimit) {
+    this.groupSizeHardLimit = Integer.parseInt(groupSizeHardLimit);
+  }
+
+  /**
+   * limit of groups resolved in background for a panel, which shows the links found so far while the rest is resolving
+   */
+  public int getGroupSizeHardLimitInt() {
+    return groupSizeHardLimit;
+  }
+
+  public void setGroupSizeHardLimitInt(final int groupSizeHardLimit) {
+    this.groupSizeHardLimit = groupSizeHardLimit;
+  }
+
   public int getTabSizeLimitInt() {
     return tabSizeLimit;
   }
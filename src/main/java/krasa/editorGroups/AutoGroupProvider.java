@@ -9,6 +9,7 @@ import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.testFramework.LightVirtualFile;
 import krasa.editorGroups.index.MyFileNameIndexService;
+import krasa.editorGroups.jfr.SameNameGroupEvent;
 import krasa.editorGroups.model.*;
 import krasa.editorGroups.support.Notifications;
 import krasa.editorGroups.support.RegexFileResolver;
@@ -48,51 +49,58 @@ public class AutoGroupProvider {
     String nameWithoutExtension = currentFile.getNameWithoutExtension();
     long start = System.currentTimeMillis();
 
-    Collection<VirtualFile> virtualFilesByName;
-    List<VirtualFile> paths;
+    SameNameGroupEvent event = new SameNameGroupEvent();
+    event.begin();
+    Collection<VirtualFile> virtualFilesByName = null;
+    List<VirtualFile> paths = null;
     try {
-      virtualFilesByName = MyFileNameIndexService.getVirtualFilesByName(project, nameWithoutExtension, true, GlobalSearchScope.projectScope(project));
+      try {
+        virtualFilesByName = MyFileNameIndexService.getVirtualFilesByName(project, nameWithoutExtension, true, GlobalSearchScope.projectScope(project));
 
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("getVirtualFilesByName=" + virtualFilesByName);
-      }
-      int groupSizeLimitInt = ApplicationConfiguration.state().getGroupSizeLimitInt();
-      int size = virtualFilesByName.size();
-      paths = new ArrayList<>(Math.min(size + 1, groupSizeLimitInt + 1));
-
-
-      for (VirtualFile file : virtualFilesByName) {
-        if (ProjectCoreUtil.isProjectOrWorkspaceFile(file)) {
-          continue;
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("getVirtualFilesByName=" + virtualFilesByName);
         }
-        if (Utils.isJarOrZip(file)) {
-          continue;
+        int groupSizeLimitInt = ApplicationConfiguration.state().getGroupSizeLimitInt();
+        int size = virtualFilesByName.size();
+        paths = new ArrayList<>(Math.min(size + 1, groupSizeLimitInt + 1));
+
+
+        for (VirtualFile file : virtualFilesByName) {
+          if (ProjectCoreUtil.isProjectOrWorkspaceFile(file)) {
+            continue;
+          }
+          if (Utils.isJarOrZip(file)) {
+            continue;
+          }
+          if (file.isDirectory()) {
+            continue;
+          }
+          if (paths.size() == groupSizeLimitInt) {
+            Notifications.tooManyFiles();
+            LOG.warn("#getSameNameGroup: too many results for " + nameWithoutExtension + " =" + size);
+            break;
+          }
+          paths.add(file);
         }
-        if (file.isDirectory()) {
-          continue;
+
+        if (!paths.contains(currentFile)) {
+          paths.add(0, currentFile);
         }
-        if (paths.size() == groupSizeLimitInt) {
-          Notifications.tooManyFiles();
-          LOG.warn("#getSameNameGroup: too many results for " + nameWithoutExtension + " =" + size);
-          break;
+        paths.sort(VirtualFileComparator.getInstance());
+      } catch (IndexNotReadyException | ProcessCanceledException e) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(e);
         }
-        paths.add(file);
-      }
+        event.cancelled = true;
+        paths = new ArrayList<>();
+        paths.add(currentFile);
 
-      if (!paths.contains(currentFile)) {
-        paths.add(0, currentFile);
-      }
-      paths.sort(VirtualFileComparator.getInstance());
-    } catch (IndexNotReadyException | ProcessCanceledException e) {
-      if (LOG.isDebugEnabled()) {
-        LOG.debug(e);
+        LightVirtualFile vf = new LightVirtualFile(INDEXING);
+        vf.setValid(false);
+        paths.add(vf);
       }
-      paths = new ArrayList<>();
-      paths.add(currentFile);
-
-      LightVirtualFile vf = new LightVirtualFile(INDEXING);
-      vf.setValid(false);
-      paths.add(vf);
+    } finally {
+      event.finish(nameWithoutExtension, paths != null ? paths.size() : 0, virtualFilesByName != null ? virtualFilesByName.size() : 0);
     }
 
     long t0 = System.currentTimeMillis() - start;
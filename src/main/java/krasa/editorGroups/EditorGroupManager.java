@@ -33,6 +33,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class EditorGroupManager {
   private static final Logger LOG = com.intellij.openapi.diagnostic.Logger.getInstance(EditorGroupManager.class);
@@ -152,6 +153,22 @@ public class EditorGroupManager {
    */
   @NotNull
   public EditorGroup getGroup(Project project, FileEditor fileEditor, @NotNull EditorGroup displayedGroup, @Nullable EditorGroup requestedGroup, @NotNull VirtualFile currentFile, boolean refresh, boolean stub) throws IndexNotReady {
+    return getGroup(project, fileEditor, displayedGroup, requestedGroup, currentFile, refresh, stub, GroupSelectionTrace.DISABLED);
+  }
+
+  /**
+   * @param trace records each step of the selection, see {@link GroupSelectionTrace}
+   */
+  @NotNull
+  public EditorGroup getGroup(Project project, FileEditor fileEditor, @NotNull EditorGroup displayedGroup, @Nullable EditorGroup requestedGroup, @NotNull VirtualFile currentFile, boolean refresh, boolean stub, @NotNull GroupSelectionTrace trace) throws IndexNotReady {
+    return getGroup(project, fileEditor, displayedGroup, requestedGroup, currentFile, refresh, stub, trace, null);
+  }
+
+  /**
+   * @param partialGroups receives the group while its links are being resolved, see {@link krasa.editorGroups.support.LinkSink}
+   */
+  @NotNull
+  public EditorGroup getGroup(Project project, FileEditor fileEditor, @NotNull EditorGroup displayedGroup, @Nullable EditorGroup requestedGroup, @NotNull VirtualFile currentFile, boolean refresh, boolean stub, @NotNull GroupSelectionTrace trace, @Nullable Consumer<EditorGroup> partialGroups) throws IndexNotReady {
     if (LOG.isDebugEnabled())
       LOG.debug(">getGroup: fileEditor = [" + fileEditor + "], displayedGroup = [" + displayedGroup + "], requestedGroup = [" + requestedGroup + "], force = [" + refresh + "], stub = [" + stub + "]" + ", project = [" + project.getName() + "]");
 
@@ -175,12 +192,15 @@ public class EditorGroupManager {
       if (force && !(requestedGroup instanceof FavoritesGroup) && !(requestedGroup instanceof BookmarkGroup)) {
         if (result.isInvalid()) {
           result = cache.getOwningOrSingleGroup(currentFilePath);
+          trace.step("force: owningOrSingleGroup", result);
         }
         if (result.isInvalid()) {
           result = cache.getLastEditorGroup(currentFile, currentFilePath, false, true, stub);
+          trace.step("force: lastEditorGroup", result);
         }
         if (result.isInvalid()) {
           result = RegexGroupProvider.getInstance(project).findFirstMatchingRegexGroup_stub(currentFile);
+          trace.step("force: firstMatchingRegex", result);
         }
       }
 
@@ -190,27 +210,32 @@ public class EditorGroupManager {
           && (requestedGroup instanceof AutoGroup || requestedGroup.containsLink(project, currentFile) || requestedGroup.isOwner(currentFilePath))) {
           result = requestedGroup;
         }
+        trace.step("requestedGroup", result);
       }
 
       if (!force) {
         if (result.isInvalid()) {
           result = cache.getOwningOrSingleGroup(currentFilePath);
+          trace.step("owningOrSingleGroup", result);
         }
 
         if (result.isInvalid()) {
           result = cache.getLastEditorGroup(currentFile, currentFilePath, true, true, stub);
+          trace.step("lastEditorGroup", result);
         }
       }
 
       if (result.isInvalid()) {
         if (config.getState().isSelectRegexGroup()) {
           result = RegexGroupProvider.getInstance(project).findFirstMatchingRegexGroup_stub(currentFile);
+          trace.step("firstMatchingRegex", result);
         }
         if (result.isInvalid() && config.getState().isAutoSameName()) {
           result = SameNameGroup.INSTANCE;
         } else if (result.isInvalid() && config.getState().isAutoFolders()) {
           result = FolderGroup.INSTANCE;
         }
+        trace.step("autogroup fallback", result);
       }
 
       if (refresh || isEmptyAutogroup(project, result) || isIndexingAutoGroup(project, result)) {
@@ -219,11 +244,11 @@ public class EditorGroupManager {
         }
         //_refresh
         if (!stub && result == requestedGroup && result instanceof EditorGroupIndexValue) { // force loads new one from index
-          cache.initGroup((EditorGroupIndexValue) result);
+          cache.initGroup((EditorGroupIndexValue) result, partialGroups);
         } else if (!stub && result instanceof SameNameGroup) {
           result = autogroupProvider.getSameNameGroup(currentFile);
         } else if (!stub && result instanceof RegexGroup) {
-          result = regexGroupProvider.getRegexGroup((RegexGroup) result, project, currentFile);
+          result = regexGroupProvider.getRegexGroup((RegexGroup) result, project, currentFile, partialGroups);
         } else if (result instanceof FolderGroup) {
           result = autogroupProvider.getFolderGroup(currentFile);
         } else if (result instanceof FavoritesGroup) {
@@ -231,6 +256,7 @@ public class EditorGroupManager {
         } else if (result instanceof BookmarkGroup) {
           result = externalGroupProvider.getBookmarkGroup();
         }
+        trace.step("refresh", result);
 
 
         if (!stub && sameNameGroupIsEmpty(project, result, requestedGroup) && !(requestedGroup instanceof SameNameGroup && !requestedGroup.isStub())) {
@@ -240,6 +266,7 @@ public class EditorGroupManager {
           } else if (config.getState().isAutoFolders() && !AutoGroup.SAME_FILE_NAME.equals(cache.getLast(currentFilePath))) {
             result = autogroupProvider.getFolderGroup(currentFile);
           }
+          trace.step("multiGroup", result);
         }
       }
 
@@ -252,6 +279,7 @@ public class EditorGroupManager {
         LOG.debug("< getGroup " + (System.currentTimeMillis() - start) + "ms, EDT=" + SwingUtilities.isEventDispatchThread() + ", file=" + currentFile.getName() + " title='" + result.getTitle() + " stub='" + result.isStub() + "' " + result);
       }
       cache.setLast(currentFilePath, result);
+      trace.done(result);
     } catch (IndexNotReadyException e) {
       LOG.debug(e.toString());
       throw new IndexNotReady(">getGroup project = [" + project.getName() + "], fileEditor = [" + fileEditor + "], displayedGroup = [" + displayedGroup + "], requestedGroup = [" + requestedGroup + "], force = [" + refresh + "]", e);
@@ -345,11 +373,12 @@ public class EditorGroupManager {
     return groups;
   }
 
-  //TODO cache it?
+  /**
+   * @return sorted, unmodifiable
+   */
   public List<EditorGroupIndexValue> getAllIndexedGroups() throws IndexNotReadyException {
     long start = System.currentTimeMillis();
     List<EditorGroupIndexValue> allGroups = cache.getAllGroups();
-    allGroups.sort(COMPARATOR);
     if (LOG.isDebugEnabled()) LOG.debug("getAllGroups " + (System.currentTimeMillis() - start));
     return allGroups;
   }
@@ -32,8 +32,10 @@ import com.intellij.util.ui.JBUI;
 import com.intellij.util.ui.UIUtil;
 import krasa.editorGroups.actions.PopupMenu;
 import krasa.editorGroups.actions.RemoveFromCurrentFavoritesAction;
+import krasa.editorGroups.jfr.RenderPanelEvent;
 import krasa.editorGroups.language.EditorGroupsLanguage;
 import krasa.editorGroups.model.*;
+import krasa.editorGroups.support.FileIconCache;
 import krasa.editorGroups.support.FileResolver;
 import krasa.editorGroups.support.Utils;
 import krasa.editorGroups.tabs2.KrTabInfo;
@@ -67,6 +69,10 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
 
   public static final Key<EditorGroupPanel> EDITOR_PANEL = Key.create("EDITOR_GROUPS_PANEL");
   public static final Key<EditorGroup> EDITOR_GROUP = Key.create("EDITOR_GROUP");
+  /**
+   * group displayed by a released panel, rendered by the next panel of the editor before it refreshes
+   */
+  public static final Key<EditorGroup> RELEASED_GROUP = Key.create("EDITOR_GROUPS_RELEASED_GROUP");
   public static final int NOT_INITIALIZED = -10000;
 
   @NotNull
@@ -76,8 +82,16 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
   private final VirtualFile file;
   private volatile int myScrollOffset;
   private int currentIndex = NOT_INITIALIZED;
+  /**
+   * links of the displayed group, only [windowStart, windowEnd) have tabs when the group exceeds the tab size limit
+   */
+  private List<Link> windowLinks = Collections.emptyList();
+  private int windowStart;
+  private int windowEnd;
   private volatile EditorGroup displayedGroup;
   private volatile EditorGroup toBeRendered;
+  private volatile boolean displayedResolving;
+  private volatile boolean partialRendered;
   private final VirtualFile fileFromTextEditor;
   private final MyJBEditorTabs tabs;
   private final FileEditorManagerImpl fileEditorManager;
@@ -89,6 +103,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
   private final Integer line;
   private boolean hideGlobally;
   private final DumbService dumbService;
+  private final GroupSelectionTrace.Buffer selectionTraces = new GroupSelectionTrace.Buffer();
 
   public EditorGroupPanel(@NotNull FileEditor fileEditor, @NotNull Project project, @Nullable SwitchRequest switchRequest, VirtualFile file) {
     super(new BorderLayout());
@@ -116,7 +131,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
             EditorGroupPanel.this.focusGained();
           }
 
-        });
+        }, this);
       }
     }
     fileFromTextEditor = Utils.getFileFromTextEditor(project, fileEditor);
@@ -207,8 +222,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       }
     });
     
-    int tabHeight = ApplicationConfiguration.state().isCompactTabs() ? 26 : JBUI.CurrentTheme.TabbedPane.TAB_HEIGHT.get();
-    setPreferredSize(new Dimension(0, tabHeight));
+    setPreferredSize(new Dimension(0, getPanelHeight()));
     JComponent component = tabs.getComponent();
     add(component, BorderLayout.CENTER);
 
@@ -220,6 +234,10 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     dumbService = DumbService.getInstance(this.project);
   }
 
+  static int getPanelHeight() {
+    return ApplicationConfiguration.state().isCompactTabs() ? 26 : JBUI.CurrentTheme.TabbedPane.TAB_HEIGHT.get();
+  }
+
   public void postConstruct() {
     ApplicationConfiguration applicationConfiguration = ApplicationConfiguration.state();
 
@@ -326,14 +344,14 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       Map<Link, String> path_name = uniqueNameBuilder.getNamesByPath(links, file, project);
       createTabs(links, path_name);
 
-      addCurrentFileTab(path_name);
+      addCurrentFileTab(path_name, !links.isEmpty());
 
       if (displayedGroup instanceof GroupsHolder) {
         createGroupLinks(((GroupsHolder) displayedGroup).getGroups());
       }
-      if (displayedGroup.isStub()) {
+      if (displayedGroup.isStub() || displayedGroup.isResolving()) {
         LOG.debug("#reloadTabs: stub - Adding Loading...");
-        MyTabInfo tab = new MyTabInfo(new PathLink("Loading...", project), "Loading...");
+        MyTabInfo tab = new MyTabInfo(new PathLink("Loading...", project), "Loading...", this);
         tab.selectable = false;
         tabs.addTabSilently(tab, -1);
       }
@@ -367,12 +385,15 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       }
       LOG.debug("Too many tabs, skipping: " + (links.size() - tabSizeLimitInt));
     }
+    windowLinks = links;
+    windowStart = start;
+    windowEnd = end;
 
     int j = 0;
     for (int i1 = start; i1 < end; i1++) {
       Link link = links.get(i1);
 
-      MyTabInfo tab = new MyTabInfo(link, path_name.get(link));
+      MyTabInfo tab = new MyTabInfo(link, path_name.get(link), this);
 
       tabs.addTabSilently(tab, -1);
 //			if (EditorGroupsLanguage.isEditorGroupsLanguage(path) && StringUtils.isNotEmpty(displayedGroup.getTitle()) && displayedGroup.isOwner(path)) {
@@ -391,10 +412,14 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
   }
 
 
-  private void addCurrentFileTab(Map<Link, String> path_name) {
-    if (currentIndex < 0 && (EditorGroupsLanguage.isEditorGroupsLanguage(file))) {
+  /**
+   * @param hasLinks the current file is pinned to the first tab while the group is still being resolved
+   */
+  private void addCurrentFileTab(Map<Link, String> path_name, boolean hasLinks) {
+    boolean partial = hasLinks && (displayedGroup.isStub() || displayedGroup.isResolving());
+    if (currentIndex < 0 && (EditorGroupsLanguage.isEditorGroupsLanguage(file) || partial)) {
       Link link = Link.from(file, project);
-      MyTabInfo info = new MyTabInfo(link, path_name.get(link));
+      MyTabInfo info = new MyTabInfo(link, path_name.get(link), this);
       customizeSelectedColor(info);
       currentIndex = 0;
       tabs.addTabSilently(info, 0);
@@ -405,7 +430,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       && !(displayedGroup instanceof HidePanelGroup)
     ) {
 
-      if (!displayedGroup.isStub() && !FileResolver.excluded(new File(file.getPath()), ApplicationConfiguration.state().isExcludeEditorGroupsFiles())) {
+      if (!displayedGroup.isStub() && !displayedGroup.isResolving() && !FileResolver.excluded(new File(file.getPath()), ApplicationConfiguration.state().isExcludeEditorGroupsFiles())) {
         String message = "current file is not contained in group. file=" + file + ", group=" + displayedGroup + ", links=" + displayedGroup.getLinks(project);
         if (ApplicationManager.getApplication().isInternal()) {
           LOG.error(message);
@@ -430,7 +455,10 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     Link link;
     public boolean selectable = true;
 
-    public MyTabInfo(Link link, String name) {
+    /**
+     * @param panel the precise file icon is set once it is computed in background, see {@link FileIconCache}
+     */
+    public MyTabInfo(Link link, String name, @NotNull EditorGroupPanel panel) {
       super(new JLabel(""));
       this.link = link;
       Integer line = link.getLine();
@@ -439,7 +467,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       }
       setText(name);
       setTooltipText(link.getPath());
-      setIcon(link.getFileIcon());
+      setIcon(FileIconCache.getInstance(panel.project).getIcon(link, panel, this::setIcon));
       if (!link.exists()) {
         setEnabled(false);
       }
@@ -478,6 +506,10 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       return false;
     }
 
+    if (currentIndex == 0 && windowStart > 0) { //continue before the window instead of wrapping around
+      return openFile(windowLinks.get(windowStart - 1), newTab, newWindow, split);
+    }
+
     int iterations = 0;
     List<KrTabInfo> tabs = this.tabs.getTabs();
     Link link = null;
@@ -524,6 +556,10 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       if (LOG.isDebugEnabled()) LOG.debug("openFile fail - !isVisible()");
       return false;
     }
+    if (currentIndex == windowEnd - windowStart - 1 && windowEnd < windowLinks.size()) { //continue after the window instead of wrapping around
+      return openFile(windowLinks.get(windowEnd), newTab, newWindow, split);
+    }
+
     int iterations = 0;
     List<KrTabInfo> tabs = this.tabs.getTabs();
     Link link = null;
@@ -633,6 +669,19 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     return this;
   }
 
+  /**
+   * Removes the panel from its editor and disposes it, a new panel is created when the editor gets selected again.
+   */
+  public void release() {
+    if (LOG.isDebugEnabled()) LOG.debug("release " + file);
+    fileEditor.putUserData(EDITOR_PANEL, null);
+    if (displayedGroup != null && displayedGroup.isValid()) {
+      fileEditor.putUserData(RELEASED_GROUP, displayedGroup);
+    }
+    fileEditorManager.removeTopComponent(fileEditor, getRoot());
+    Disposer.dispose(this);
+  }
+
 
   static class RefreshRequest {
     final boolean refresh;
@@ -724,6 +773,7 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       //noinspection SimplifiableConditionalExpression
       boolean stub = displayedGroup != null ? displayedGroup.isStub() : true;
 
+      partialRendered = false;
       RefreshRequest request = getGroupInReadActionWithRetries(editorGroupRef);
       if (request == null) return;
 
@@ -732,7 +782,8 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       if (LOG.isDebugEnabled()) {
         LOG.debug("_refresh3 before if: brokenScroll =" + brokenScroll + ", request =" + request + ", group =" + group + ", displayedGroup =" + displayedGroup + ", toBeRendered =" + toBeRendered);
       }
-      boolean skipRefresh = !brokenScroll && !request.refresh && (group == toBeRendered || group.equalsVisually(project, displayedGroup, displayedLinks, stub));
+      boolean skipRefresh = !brokenScroll && !request.refresh && !partialRendered && group.isResolving() == displayedResolving
+        && (group == toBeRendered || group.equalsVisually(project, displayedGroup, displayedLinks, stub));
       //noinspection DoubleNegation
       boolean updateVisibility = hideGlobally != !ApplicationConfiguration.state().isShowPanel();
       if (updateVisibility) {
@@ -795,6 +846,19 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     });
   }
 
+  /**
+   * Renders the links found so far while the group is being resolved, resolvers call it at most every
+   * {@link krasa.editorGroups.support.LinkSink#INTERVAL_MS}.
+   */
+  private void renderPartial(@NotNull EditorGroup partial) {
+    if (disposed) {
+      return;
+    }
+    partialRendered = true;
+    toBeRendered = partial;
+    _render();
+  }
+
   @Nullable
   private RefreshRequest getGroupInReadActionWithRetries(Ref<EditorGroup> editorGroupRef) {
     RefreshRequest request = null;
@@ -823,14 +887,19 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
       boolean refresh = request.refresh;
       try {
         EditorGroup editorGroup = ReadAction.nonBlocking(() -> {
+          GroupSelectionTrace trace = ApplicationConfiguration.state().isTraceGroupSelection() ? new GroupSelectionTrace(file.getName() + " " + request) : GroupSelectionTrace.DISABLED;
           try {
-            return groupManager.getGroup(project, fileEditor, lastGroup, requestedGroup, file, refresh, !ApplicationConfiguration.state().isShowPanel());
+            return groupManager.getGroup(project, fileEditor, lastGroup, requestedGroup, file, refresh, !ApplicationConfiguration.state().isShowPanel(), trace, this::renderPartial);
           } catch (ProcessCanceledException e) {
             if (LOG.isDebugEnabled()) LOG.debug("getGroupInReadActionWithRetries - " + e, e);
             throw e;
           } catch (IndexNotReady e) {
             if (LOG.isDebugEnabled()) LOG.debug("getGroupInReadActionWithRetries - " + e, e);
             throw new ProcessCanceledException(e);
+          } finally {
+            if (trace != GroupSelectionTrace.DISABLED) {
+              selectionTraces.add(trace);
+            }
           }
         }).expireWith(fileEditor).submit(PooledThreadExecutor.INSTANCE).get();
         editorGroupRef.set(editorGroup);
@@ -910,23 +979,47 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     }
 
     displayedGroup = rendering;
+    displayedResolving = rendering.isResolving();
     toBeRendered = null;
 
     long start = System.currentTimeMillis();
+    RenderPanelEvent event = new RenderPanelEvent();
+    event.begin();
 
     reloadTabs(paintNow);
+    prefetchNeighbours();
 
     fileEditor.putUserData(EDITOR_GROUP, displayedGroup); // for titles
     file.putUserData(EDITOR_GROUP, displayedGroup); // for project view colors
+    TabPresentationCache.invalidate(file);
     fileEditorManager.updateFilePresentation(file);
     toolbar.updateActionsImmediately();
 
     groupManager.enableSwitching();
+    event.end();
+    if (event.shouldCommit()) {
+      event.groupId = displayedGroup.getId();
+      event.linkCount = tabs.getTabCount();
+      event.commit();
+    }
     if (LOG.isDebugEnabled())
       LOG.debug("<refreshOnEDT " + (System.currentTimeMillis() - start) + "ms " + fileEditor.getName() + ", displayedGroup=" + displayedGroup);
   }
 
 
+  /**
+   * only for the editor of the active window, prefetching is coalesced per project and a background panel would replace it
+   */
+  private void prefetchNeighbours() {
+    if (fileEditorManager.getSelectedEditor() != fileEditor || displayedGroup.isStub() || displayedGroup.isResolving()) {
+      return;
+    }
+    int index = windowStart + currentIndex;
+    if (currentIndex >= 0 && index < windowEnd && windowLinks.get(index).fileEquals(file)) {
+      LinkPrefetcher.getInstance(project).prefetch(windowLinks, index);
+    }
+  }
+
   private boolean updateVisibility(@NotNull EditorGroup rendering) {
     boolean visible;
     ApplicationConfiguration applicationConfiguration = ApplicationConfiguration.state();
@@ -971,6 +1064,14 @@ public class EditorGroupPanel extends JBPanel implements Weighted, Disposable {
     return displayedGroup;
   }
 
+  /**
+   * newest first, empty unless {@link ApplicationConfiguration#isTraceGroupSelection()}
+   */
+  @NotNull
+  public List<GroupSelectionTrace> getSelectionTraces() {
+    return selectionTraces.getLast();
+  }
+
   public EditorGroup getToBeRendered() {
     return toBeRendered;
   }
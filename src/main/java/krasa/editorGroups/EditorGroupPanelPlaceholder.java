@@ -0,0 +1,40 @@
+package krasa.editorGroups;
+
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.ui.components.JBPanel;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+
+/**
+ * Takes the place of {@link EditorGroupPanel} in editors which were not selected yet, like the ones restored when a project
+ * opens. The real panel is created and its group resolved on the first selection, the placeholder only keeps the editor
+ * from jumping when that happens.
+ */
+public class EditorGroupPanelPlaceholder extends JBPanel {
+  private static final Key<EditorGroupPanelPlaceholder> PLACEHOLDER = Key.create("EDITOR_GROUPS_PANEL_PLACEHOLDER");
+
+  private EditorGroupPanelPlaceholder() {
+    setPreferredSize(new Dimension(0, EditorGroupPanel.getPanelHeight()));
+    setVisible(ApplicationConfiguration.state().isShowPanel());
+  }
+
+  public static void install(@NotNull FileEditorManager manager, @NotNull FileEditor fileEditor) {
+    if (fileEditor.getUserData(PLACEHOLDER) != null) {
+      return;
+    }
+    EditorGroupPanelPlaceholder placeholder = new EditorGroupPanelPlaceholder();
+    fileEditor.putUserData(PLACEHOLDER, placeholder);
+    manager.addTopComponent(fileEditor, placeholder);
+  }
+
+  public static void remove(@NotNull FileEditorManager manager, @NotNull FileEditor fileEditor) {
+    EditorGroupPanelPlaceholder placeholder = fileEditor.getUserData(PLACEHOLDER);
+    if (placeholder != null) {
+      fileEditor.putUserData(PLACEHOLDER, null);
+      manager.removeTopComponent(fileEditor, placeholder);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package krasa.editorGroups;
+
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.SearchScopeProvider;
+import krasa.editorGroups.model.EditorGroup;
+import krasa.editorGroups.support.EditorGroupSearchScope;
+import krasa.editorGroups.support.Utils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offers the group displayed in the selected editor and the other groups of its file as search scopes. Only cached groups
+ * are offered, files of a group are collected when its scope is first used.
+ */
+public class EditorGroupSearchScopeProvider implements SearchScopeProvider {
+
+  @NotNull
+  @Override
+  public String getDisplayName() {
+    return "Editor Groups";
+  }
+
+  @NotNull
+  @Override
+  public List<SearchScope> getSearchScopes(@NotNull Project project, @NotNull DataContext dataContext) {
+    List<SearchScope> result = new ArrayList<>();
+
+    EditorGroup current = null;
+    VirtualFile file = null;
+    FileEditor selectedEditor = FileEditorManager.getInstance(project).getSelectedEditor();
+    EditorGroupPanel panel = selectedEditor != null ? selectedEditor.getUserData(EditorGroupPanel.EDITOR_PANEL) : null;
+    if (panel != null) {
+      file = panel.getFile();
+      current = panel.getDisplayedGroup();
+      if (EditorGroup.exists(current) && !current.isStub() && current.isValid()) {
+        result.add(EditorGroupSearchScope.create(project, current, "Current Editor Group: " + current.switchTitle(project)));
+      }
+    }
+    if (file == null) {
+      file = CommonDataKeys.VIRTUAL_FILE.getData(dataContext);
+    }
+    if (file == null || DumbService.isDumb(project)) {
+      return result;
+    }
+
+    List<EditorGroup> groups = IndexCache.getInstance(project).findCachedGroups(Utils.unwrap(file));
+    groups.sort(EditorGroupManager.COMPARATOR);
+    for (EditorGroup group : groups) {
+      if (group.equals(current) || group.isInvalid()) {
+        continue;
+      }
+      result.add(EditorGroupSearchScope.create(project, group, "Editor Group: " + group.switchTitle(project)));
+    }
+    return result;
+  }
+}
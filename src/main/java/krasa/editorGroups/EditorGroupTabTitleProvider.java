@@ -8,7 +8,6 @@ import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.ui.EDT;
-import krasa.editorGroups.model.AutoGroup;
 import krasa.editorGroups.model.EditorGroup;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -20,14 +19,16 @@ public class EditorGroupTabTitleProvider implements EditorTabTitleProvider {
   @Nullable
   @Override
   public String getEditorTabTitle(@NotNull Project project, @NotNull VirtualFile virtualFile) {
-    String presentableNameForUI = getPresentableNameForUI(project, virtualFile, null, false);
-
     if (!EDT.isCurrentThreadEdt()) {
       return null;
     }
     FileEditor textEditor = FileEditorManagerImpl.getInstanceEx(project).getSelectedEditor(virtualFile);
+    EditorGroup group = null;
+    if (textEditor != null) {
+      group = textEditor.getUserData(EditorGroupPanel.EDITOR_GROUP);
+    }
 
-    return getTitle(project, textEditor, presentableNameForUI);
+    return TabPresentationCache.getTitle(project, virtualFile, group);
   }
 
   @NotNull
@@ -48,16 +49,4 @@ public class EditorGroupTabTitleProvider implements EditorTabTitleProvider {
     return file.getPresentableName();
   }
 
-  private String getTitle(Project project, FileEditor textEditor, String presentableNameForUI) {
-    EditorGroup group = null;
-    if (textEditor != null) {
-      group = textEditor.getUserData(EditorGroupPanel.EDITOR_GROUP);
-    }
-
-    if (group != null && group.isValid() && !(group instanceof AutoGroup)) {
-      presentableNameForUI = group.getPresentableTitle(project, presentableNameForUI, ApplicationConfiguration.state().isShowSize());
-    }
-    return presentableNameForUI;
-  }
-
 }
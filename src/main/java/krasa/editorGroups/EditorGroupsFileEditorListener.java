@@ -0,0 +1,149 @@
+package krasa.editorGroups;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.*;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VirtualFile;
+import krasa.editorGroups.model.EditorGroup;
+import krasa.editorGroups.support.Utils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Adds {@link EditorGroupPanel} to opened editors. Registered in plugin.xml, so it is instantiated on the first event and
+ * receives the editors restored when the project opens.
+ */
+public class EditorGroupsFileEditorListener implements FileEditorManagerListener {
+  private static final Logger LOG = Logger.getInstance(EditorGroupsFileEditorListener.class);
+
+  private final Project project;
+
+  public EditorGroupsFileEditorListener(Project project) {
+    this.project = project;
+  }
+
+  //IJ 2018.2
+  @Override
+  public void fileOpenedSync(@NotNull FileEditorManager manager, @NotNull VirtualFile file, @NotNull Pair<FileEditor[], FileEditorProvider[]> editors) {
+    if (LOG.isDebugEnabled()) LOG.debug(">fileOpenedSync [" + file + "]");
+    file = Utils.unwrap(file);
+    EditorGroupManager instance = EditorGroupManager.getInstance(project);
+    SwitchRequest switchRequest = instance.getAndClearSwitchingRequest(file);
+    Set<FileEditor> selected = new HashSet<>(Arrays.asList(manager.getSelectedEditors()));
+
+    for (FileEditor fileEditor : editors.getFirst()) {
+      if (fileEditor.getUserData(EditorGroupPanel.EDITOR_PANEL) != null) {
+        continue;
+      }
+      if (switchRequest == null && !selected.contains(fileEditor)) {
+        // e.g. editors restored in background, the panel is created on the first selection
+        EditorGroupPanelPlaceholder.install(manager, fileEditor);
+        seedGroup(file, fileEditor);
+        continue;
+      }
+      long start = System.currentTimeMillis();
+
+      createPanel(manager, file, switchRequest, fileEditor);
+
+
+      if (LOG.isDebugEnabled()) {
+        if (LOG.isDebugEnabled())
+          LOG.debug("<fileOpenedSync EditorGroupPanel created, file=" + file + " in " + (System.currentTimeMillis() - start) + "ms" + ", fileEditor=" + fileEditor);
+      }
+    }
+  }
+
+  /**
+   * Tab titles and colors read {@link EditorGroupPanel#EDITOR_GROUP}, which only the panel sets. Until it exists, use a
+   * group which is already cached, nothing is resolved here.
+   */
+  private void seedGroup(@NotNull VirtualFile file, @NotNull FileEditor fileEditor) {
+    if (fileEditor.getUserData(EditorGroupPanel.EDITOR_GROUP) != null) {
+      return;
+    }
+    EditorGroup group = IndexCache.getInstance(project).getEditorGroupForColor(file);
+    if (group.isValid()) {
+      fileEditor.putUserData(EditorGroupPanel.EDITOR_GROUP, group);
+      if (file.getUserData(EditorGroupPanel.EDITOR_GROUP) == null) {
+        file.putUserData(EditorGroupPanel.EDITOR_GROUP, group);
+      }
+    }
+  }
+
+  private EditorGroupPanel createPanel(@NotNull FileEditorManager manager, @NotNull VirtualFile file, SwitchRequest switchRequest, FileEditor fileEditor) {
+    if (Disposer.isDisposed(fileEditor)) {
+      LOG.debug(">createPanel: fileEditor already disposed");
+      return null;
+    }
+    EditorGroupPanel panel = new EditorGroupPanel(fileEditor, project, switchRequest, file);
+    EditorGroupPanelPlaceholder.remove(manager, fileEditor);
+    manager.addTopComponent(fileEditor, panel.getRoot());
+    panel.postConstruct();
+    return panel;
+  }
+
+  @Override
+  public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("selectionChanged " + event);
+    }
+    FileEditor fileEditor = event.getNewEditor();
+    if (fileEditor != null) {
+      EditorGroupPanel panel = fileEditor.getUserData(EditorGroupPanel.EDITOR_PANEL);
+      if (panel == null && event.getNewFile() != null) {
+        // not selected since it was opened, or released while not selected
+        VirtualFile file = Utils.unwrap(event.getNewFile());
+        SwitchRequest switchRequest = EditorGroupManager.getInstance(project).getAndClearSwitchingRequest(file);
+        EditorGroup released = fileEditor.getUserData(EditorGroupPanel.RELEASED_GROUP);
+        fileEditor.putUserData(EditorGroupPanel.RELEASED_GROUP, null);
+        if (switchRequest == null && released != null) {
+          // render what the released panel showed, without resolving it again
+          EditorGroupPanel created = createPanel(event.getManager(), file, new SwitchRequest(released, file), fileEditor);
+          if (created != null) {
+            created._refresh(false, null);
+          }
+        } else {
+          createPanel(event.getManager(), file, switchRequest, fileEditor);
+        }
+      } else if (panel != null) {
+        EditorGroupManager instance = EditorGroupManager.getInstance(project);
+        SwitchRequest switchRequest = instance.getAndClearSwitchingRequest(panel.getFile());
+        if (switchRequest != null) {
+          EditorGroup switchingGroup = switchRequest.group;
+          int scrollOffset = switchRequest.myScrollOffset;
+          panel.refreshOnSelectionChanged(false, switchingGroup, scrollOffset);
+        } else {
+          panel._refresh(false, null);
+        }
+      }
+    }
+    if (ApplicationConfiguration.state().isPanelPerWindow()) {
+      releaseOldPanel(event);
+    }
+  }
+
+  /**
+   * Keeps panels only for the selected editor of each window, so that their number does not grow with open files.
+   */
+  private void releaseOldPanel(@NotNull FileEditorManagerEvent event) {
+    FileEditor oldEditor = event.getOldEditor();
+    if (oldEditor == null || oldEditor == event.getNewEditor()) {
+      return;
+    }
+    EditorGroupPanel panel = oldEditor.getUserData(EditorGroupPanel.EDITOR_PANEL);
+    if (panel != null && !Arrays.asList(event.getManager().getSelectedEditors()).contains(oldEditor)) {
+      panel.release();
+      EditorGroupPanelPlaceholder.install(event.getManager(), oldEditor);
+    }
+  }
+
+  @Override
+  public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+    if (LOG.isDebugEnabled()) LOG.debug("fileClosed [" + file + "]");
+  }
+}
@@ -0,0 +1,13 @@
+package krasa.editorGroups
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.startup.ProjectActivity
+
+/**
+ * Warms up the group cache once the project is open, off the startup critical path.
+ */
+class EditorGroupsStartupActivity : ProjectActivity {
+  override suspend fun execute(project: Project) {
+    EditorGroupManager.getInstance(project).initCache()
+  }
+}
@@ -0,0 +1,114 @@
+package krasa.editorGroups;
+
+import krasa.editorGroups.model.EditorGroup;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Records the steps of {@link EditorGroupManager#getGroup} - how long each took and which group it produced.
+ * Only created when {@link ApplicationConfiguration#isTraceGroupSelection()} is enabled, otherwise {@link #DISABLED} is used.
+ */
+public class GroupSelectionTrace {
+  public static final GroupSelectionTrace DISABLED = new GroupSelectionTrace(null) {
+    @Override
+    public void step(@NotNull String name, @Nullable EditorGroup candidate) {
+    }
+
+    @Override
+    public void done(@Nullable EditorGroup result) {
+    }
+  };
+
+  private final String request;
+  private final long timestamp = System.currentTimeMillis();
+  private final long startNanos = System.nanoTime();
+  private final List<Step> steps = new ArrayList<>();
+  private long lastNanos = startNanos;
+  private long totalNanos = -1;
+  private String result;
+
+  public GroupSelectionTrace(String request) {
+    this.request = request;
+  }
+
+  public void step(@NotNull String name, @Nullable EditorGroup candidate) {
+    long now = System.nanoTime();
+    steps.add(new Step(name, now - lastNanos, describe(candidate)));
+    lastNanos = now;
+  }
+
+  public void done(@Nullable EditorGroup result) {
+    totalNanos = System.nanoTime() - startNanos;
+    this.result = describe(result);
+  }
+
+  public long getTotalMillis() {
+    return totalNanos / 1_000_000;
+  }
+
+  private static String describe(@Nullable EditorGroup group) {
+    if (group == null) {
+      return "null";
+    }
+    if (group.isInvalid()) {
+      return "-";
+    }
+    return group.getClass().getSimpleName() + "[" + group.getId() + "]" + (group.isStub() ? " stub" : "");
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(new SimpleDateFormat("HH:mm:ss.SSS").format(new Date(timestamp)))
+      .append("  ").append(request)
+      .append("  total=").append(totalNanos < 0 ? "?" : formatMillis(totalNanos)).append("ms")
+      .append('\n');
+    for (Step step : steps) {
+      sb.append("    ").append(String.format("%-28s", step.name))
+        .append(String.format("%9s", formatMillis(step.nanos))).append("ms  ")
+        .append(step.candidate).append('\n');
+    }
+    sb.append("    => ").append(result).append('\n');
+    return sb.toString();
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format("%.3f", nanos / 1_000_000.0);
+  }
+
+  private record Step(String name, long nanos, String candidate) {
+  }
+
+  /**
+   * Bounded ring buffer of the last traces of one panel.
+   */
+  public static class Buffer {
+    public static final int SIZE = 20;
+    private final GroupSelectionTrace[] traces = new GroupSelectionTrace[SIZE];
+    private int next;
+    private int count;
+
+    public synchronized void add(@NotNull GroupSelectionTrace trace) {
+      traces[next] = trace;
+      next = (next + 1) % SIZE;
+      count = Math.min(count + 1, SIZE);
+    }
+
+    /**
+     * newest first
+     */
+    @NotNull
+    public synchronized List<GroupSelectionTrace> getLast() {
+      List<GroupSelectionTrace> result = new ArrayList<>(count);
+      for (int i = 1; i <= count; i++) {
+        result.add(traces[(next - i + SIZE) % SIZE]);
+      }
+      return result;
+    }
+  }
+}
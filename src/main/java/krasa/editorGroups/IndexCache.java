@@ -4,21 +4,31 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.indexing.FileBasedIndex;
+import krasa.editorGroups.api.EditorGroupsApi;
 import krasa.editorGroups.index.EditorGroupIndex;
+import krasa.editorGroups.jfr.InitGroupEvent;
 import krasa.editorGroups.model.*;
 import krasa.editorGroups.support.FileResolver;
 import krasa.editorGroups.support.Notifications;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class IndexCache {
   private static final Logger LOG = Logger.getInstance(IndexCache.class);
-  public static final int MAX_HISTORY_SIZE = 1000;
 
 
   public static IndexCache getInstance(@NotNull Project project) {
@@ -28,14 +38,28 @@ public class IndexCache {
   @NotNull
   private final Project project;
   private final Map<String, EditorGroups> groupsByLinks = new ConcurrentHashMap<>();
+  private final LastGroupHistory lastGroupHistory = new LastGroupHistory();
+  private final IndexedGroupCatalog catalog = new IndexedGroupCatalog();
   private final ApplicationConfigurationComponent configuration;
 
   private final ExternalGroupProvider externalGroupProvider;
+  private final EditorGroupsApi api;
 
   public IndexCache(@NotNull Project project) {
     this.project = project;
     this.externalGroupProvider = ExternalGroupProvider.getInstance(project);
     this.configuration = ApplicationConfigurationComponent.getInstance();
+    this.api = EditorGroupsApi.getInstance(project);
+    ProjectComponent.State state = ProjectComponent.getInstance(project).takePendingState();
+    if (state != null) {
+      loadState(state);
+    }
+    project.getMessageBus().connect(project).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+        removeFromCatalog(events);
+      }
+    });
   }
 
   public EditorGroup getOwningOrSingleGroup(@NotNull String canonicalPath) {
@@ -76,20 +100,31 @@ public class IndexCache {
 
   public void clear() {
     groupsByLinks.clear();
+    catalog.clear();
+    api.clear();
   }
 
+  /**
+   * Looks the group up in the index only when the index changed since the group was last validated.
+   */
   public void validate(EditorGroup group) {
     if (group.isInvalid()) {
       return;
     }
     if (group instanceof EditorGroupIndexValue) {
-      String id = group.getId();
+      EditorGroupIndexValue value = (EditorGroupIndexValue) group;
       try {
+        long stamp = FileBasedIndex.getInstance().getIndexModificationStamp(EditorGroupIndex.NAME, project);
+        if (value.getValidatedIndexStamp() == stamp) {
+          return;
+        }
+        String id = group.getId();
         EditorGroup groupFromIndex = getGroupFromIndexById(id);
         if (!groupFromIndex.equals(group)) {
           group.invalidate();
           return;
         }
+        value.setValidatedIndexStamp(stamp);
       } catch (ProcessCanceledException | IndexNotReadyException ignored) {
       }
 
@@ -130,6 +165,7 @@ public class IndexCache {
     if (editorGroups != null) {
       EditorGroup editorGroup = editorGroups.getById(group.getId());
       if (group.equals(editorGroup)) {
+        putInCatalog((EditorGroupIndexValue) editorGroup);
         return (EditorGroupIndexValue) editorGroup;
       }
     }
@@ -140,21 +176,87 @@ public class IndexCache {
   }
 
   public void initGroup(@NotNull EditorGroupIndexValue group) throws ProcessCanceledException {
+    initGroup(group, null);
+  }
+
+  /**
+   * @param partialGroups receives resolving copies of the group with the links found so far, the group itself and
+   *                      groupsByLinks are updated only once it is fully resolved, a cancelled resolution leaves them as they were
+   */
+  public void initGroup(@NotNull EditorGroupIndexValue group, @Nullable Consumer<EditorGroup> partialGroups) throws ProcessCanceledException {
     if (LOG.isDebugEnabled()) LOG.debug("initGroup = [" + group + "]");
     if (!EditorGroup.exists(group)) {
       return;
     }
+    putInCatalog(group);
+
+    InitGroupEvent event = new InitGroupEvent();
+    event.begin();
+    int linkCount = 0;
+    FileResolver resolver = new FileResolver(project);
+    try {
+      //large groups are displayed while the rest is being resolved, sorted once at the end
+      List<Link> found = new ArrayList<>();
+      List<Link> links = resolver.resolveLinks(group, partialGroups == null ? null : newLinks -> {
+        found.addAll(newLinks);
+        partialGroups.accept(group.partialCopy(List.copyOf(found)));
+      });
+      group.setLinks(links);
+      linkCount = links.size();
+
+      add(group, group.getOwnerPath());
+      for (Link link : links) {
+        add(group, link.getPath());
+      }
+      api.groupResolved(group, links);
+    } catch (ProcessCanceledException e) {
+      event.cancelled = true;
+      throw e;
+    } finally {
+      event.finish(group.getId(), linkCount, resolver.getFilesVisited());
+    }
+  }
 
-    add(group, group.getOwnerPath());
-
-    List<Link> links = FileResolver.resolveLinks(group, project);         //TODO throws ProcessCanceledException , does it create inconsistency?
-    group.setLinks(links);
 
-    for (Link link : links) {
-      add(group, link.getPath());
+  /**
+   * like {@link #getAllGroups()}, only groups from project files, groups in libraries are resolved but not listed
+   */
+  private void putInCatalog(@NotNull EditorGroupIndexValue group) {
+    if (catalog.contains(group)) {
+      return;
+    }
+    if (catalog.hasOwner(group.getOwnerPath())) {
+      catalog.put(group);
+      return;
+    }
+    VirtualFile owner = LocalFileSystem.getInstance().findFileByPath(group.getOwnerPath());
+    if (owner != null && GlobalSearchScope.projectScope(project).contains(owner)) {
+      catalog.put(group);
     }
   }
 
+  /**
+   * deleted and moved files produce no indexing callback for their old path
+   */
+  private void removeFromCatalog(@NotNull List<? extends VFileEvent> events) {
+    for (VFileEvent event : events) {
+      String oldPath = null;
+      VirtualFile file = event.getFile();
+      if (event instanceof VFileDeleteEvent) {
+        oldPath = event.getPath();
+      } else if (event instanceof VFileMoveEvent) {
+        oldPath = ((VFileMoveEvent) event).getOldPath();
+      } else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+        oldPath = ((VFilePropertyChangeEvent) event).getOldPath();
+      }
+      if (oldPath != null) {
+        catalog.removeOwner(oldPath);
+        if (file != null && file.isDirectory()) {
+          catalog.removeOwnersUnder(oldPath);
+        }
+      }
+    }
+  }
 
   public EditorGroup getLastEditorGroup(VirtualFile currentFile, String currentFilePath, boolean includeAutogroups, boolean includeFavorites, boolean stub) {
     EditorGroup result = EditorGroup.EMPTY;
@@ -164,10 +266,10 @@ public class IndexCache {
     }
 
     EditorGroups groups = groupsByLinks.get(currentFilePath);
+    String last = lastGroupHistory.get(currentFilePath);
     ApplicationConfiguration config = configuration.getState();
 
-    if (groups != null) {
-      String last = groups.getLast();
+    if (groups != null || last != null) {
       if (LOG.isDebugEnabled()) LOG.debug("last = " + last);
       if (last != null && configuration.getState().isRememberLastGroup()) {
         if (includeAutogroups && config.isAutoSameName() && AutoGroup.SAME_FILE_NAME.equals(last)) {
@@ -221,6 +323,19 @@ public class IndexCache {
     return result;
   }
 
+  /**
+   * like {@link #findGroups} but without validating the groups against the index, for callers which must not wait
+   */
+  public List<EditorGroup> findCachedGroups(VirtualFile currentFile) {
+    List<EditorGroup> result = new ArrayList<>();
+    EditorGroups editorGroups = groupsByLinks.get(currentFile.getPath());
+    if (editorGroups != null) {
+      result.addAll(editorGroups.getAll());
+    }
+    result.addAll(externalGroupProvider.findGroups(currentFile));
+    return result;
+  }
+
   public EditorGroup getMultiGroup(VirtualFile currentFile) {
     EditorGroup result = EditorGroup.EMPTY;
 
@@ -244,7 +359,7 @@ public class IndexCache {
     EditorGroups groups = groupsByLinks.get(currentFile.getPath());
 
     if (groups != null) {
-      String last = groups.getLast();
+      String last = lastGroupHistory.get(currentFile.getPath());
       if (last != null && configuration.getState().isRememberLastGroup()) {
         EditorGroups editorGroups = groupsByLinks.get(last);
         if (editorGroups != null) {
@@ -274,12 +389,23 @@ public class IndexCache {
       editorGroups.add(result);
       groupsByLinks.put(currentFile, editorGroups);
     }
-    editorGroups.setLast(result.getId());
+    lastGroupHistory.put(currentFile, result.getId());
   }
 
 
+  /**
+   * from the catalog when it is loaded, otherwise from the index
+   *
+   * @return sorted by {@link EditorGroupManager#COMPARATOR}, unmodifiable
+   */
   public List<EditorGroupIndexValue> getAllGroups() throws IndexNotReadyException {
+    List<EditorGroupIndexValue> snapshot = catalog.getSnapshot();
+    if (snapshot != null) {
+      return snapshot;
+    }
+
     FileBasedIndex instance = FileBasedIndex.getInstance();
+
     Collection<String> allKeys = instance.getAllKeys(EditorGroupIndex.NAME, project);
     GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
 
@@ -291,52 +417,63 @@ public class IndexCache {
         return true;
       }, scope);
     }
-    return all;
+    catalog.loaded(all);
+    return Objects.requireNonNull(catalog.getSnapshot());
   }
 
-  public String getLast(String currentFilePath) {
-    EditorGroups groups = groupsByLinks.get(currentFilePath);
+  /**
+   * all groups went through {@link #initGroup}
+   */
+  public void onAllGroupsInitialized() {
+    catalog.loaded();
+  }
 
-    if (groups != null) {
-      return groups.getLast();
+  /**
+   * @param ids groups the owner file defines after reindexing
+   */
+  public void retainGroups(@NotNull String ownerPath, @NotNull Collection<String> ids) {
+    catalog.retain(ownerPath, ids);
+    api.retainGroups(ownerPath, ids);
+  }
 
-    }
-    return null;
+  public String getLast(String currentFilePath) {
+    return lastGroupHistory.get(currentFilePath);
   }
 
   public void loadState(ProjectComponent.State state) {
-    for (ProjectComponent.StringPair stringStringPair : state.lastGroup) {
-      EditorGroups editorGroups = new EditorGroups();
-      groupsByLinks.put(stringStringPair.key, editorGroups);
-      editorGroups.setLast(stringStringPair.value);
-    }
+    lastGroupHistory.loadState(state.lastGroup);
   }
 
+  /**
+   * returns the previous result if nothing changed since the last call
+   */
   public ProjectComponent.State getState() {
     ProjectComponent.State state = new ProjectComponent.State();
-    Set<Map.Entry<String, EditorGroups>> entries = groupsByLinks.entrySet();
     boolean autoSameName = configuration.getState().isAutoSameName();
     boolean autoFolders = configuration.getState().isAutoFolders();
+    state.lastGroup = lastGroupHistory.getState(autoSameName, autoFolders);
+    return state;
+  }
 
-    for (Map.Entry<String, EditorGroups> entry : entries) {
-      String last = entry.getValue().getLast();
-      if (last == null) {
-        continue;
-      } else if (autoSameName && AutoGroup.SAME_FILE_NAME.equals(last)) {
-        continue;
-      } else if (autoFolders && AutoGroup.DIRECTORY.equals(last)) {
-        continue;
-      }
-      if (state.lastGroup.size() > MAX_HISTORY_SIZE) {  //TODO config
-        break;
+
+  /**
+   * Drops groups of the owner from the cache without invalidating them, so that the next indexing of the file resolves
+   * them again while panels keep showing the old ones.
+   */
+  public void forgetGroups(@NotNull String ownerPath) {
+    EditorGroups editorGroups = groupsByLinks.get(ownerPath);
+    if (editorGroups != null) {
+      for (EditorGroup group : editorGroups.getAll()) {
+        if (group.isOwner(ownerPath)) {
+          editorGroups.remove(group);
+        }
       }
-      state.lastGroup.add(new ProjectComponent.StringPair(entry.getKey(), last));
     }
-    return state;
   }
 
-
   public void removeGroup(String ownerPath) {
+    catalog.removeOwner(ownerPath);
+    api.ownerRemoved(ownerPath);
     EditorGroup group = null;
     for (Map.Entry<String, EditorGroups> entry : groupsByLinks.entrySet()) {
       EditorGroups value = entry.getValue();
@@ -0,0 +1,128 @@
+package krasa.editorGroups;
+
+import krasa.editorGroups.model.EditorGroupIndexValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All groups of {@link krasa.editorGroups.index.EditorGroupIndex}, kept up to date from indexing callbacks so that
+ * listing them does not need to query the index.
+ * <p>
+ * Usable only once a full load was done. Deleted files do not produce indexing callbacks, their owners are removed by
+ * {@link IndexCache} from VFS events.
+ */
+public class IndexedGroupCatalog {
+
+  private final Map<String, Map<String, EditorGroupIndexValue>> groupsByOwner = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+  /**
+   * sorted by {@link EditorGroupManager#COMPARATOR}, null when modified
+   */
+  @Nullable
+  private volatile List<EditorGroupIndexValue> snapshot;
+  private final AtomicLong modificationCount = new AtomicLong();
+
+  /**
+   * does nothing for an equal group, so that revalidated groups keep the snapshot
+   */
+  public void put(@NotNull EditorGroupIndexValue group) {
+    Map<String, EditorGroupIndexValue> groups = groupsByOwner.computeIfAbsent(group.getOwnerPath(), k -> new ConcurrentHashMap<>());
+    EditorGroupIndexValue previous = groups.putIfAbsent(group.getId(), group);
+    if (previous == null || !previous.equals(group) && groups.replace(group.getId(), previous, group)) {
+      modified();
+    }
+  }
+
+  public boolean contains(@NotNull EditorGroupIndexValue group) {
+    Map<String, EditorGroupIndexValue> groups = groupsByOwner.get(group.getOwnerPath());
+    return groups != null && group.equals(groups.get(group.getId()));
+  }
+
+  /**
+   * owners of all groups are project files, checked when the first group was put
+   */
+  public boolean hasOwner(@NotNull String ownerPath) {
+    return groupsByOwner.containsKey(ownerPath);
+  }
+
+  /**
+   * removes groups the file no longer defines
+   */
+  public void retain(@NotNull String ownerPath, @NotNull Collection<String> ids) {
+    Map<String, EditorGroupIndexValue> groups = groupsByOwner.get(ownerPath);
+    if (groups != null && groups.keySet().retainAll(ids)) {
+      if (groups.isEmpty()) {
+        groupsByOwner.remove(ownerPath, groups);
+      }
+      modified();
+    }
+  }
+
+  public void removeOwner(@NotNull String ownerPath) {
+    if (groupsByOwner.remove(ownerPath) != null) {
+      modified();
+    }
+  }
+
+  /**
+   * for a deleted or moved directory
+   */
+  public void removeOwnersUnder(@NotNull String directoryPath) {
+    String prefix = directoryPath + "/";
+    if (groupsByOwner.keySet().removeIf(ownerPath -> ownerPath.startsWith(prefix))) {
+      modified();
+    }
+  }
+
+  public void clear() {
+    loaded = false;
+    groupsByOwner.clear();
+    modified();
+  }
+
+  public void loaded(@NotNull Collection<EditorGroupIndexValue> groups) {
+    groupsByOwner.clear();
+    for (EditorGroupIndexValue group : groups) {
+      put(group);
+    }
+    loaded();
+  }
+
+  public void loaded() {
+    loaded = true;
+  }
+
+  /**
+   * @return sorted, unmodifiable list, or null when a full load is needed
+   */
+  @Nullable
+  public List<EditorGroupIndexValue> getSnapshot() {
+    if (!loaded) {
+      return null;
+    }
+
+    List<EditorGroupIndexValue> result = snapshot;
+    if (result == null) {
+      long modification = modificationCount.get();
+      List<EditorGroupIndexValue> list = new ArrayList<>();
+      for (Map<String, EditorGroupIndexValue> groups : groupsByOwner.values()) {
+        list.addAll(groups.values());
+      }
+      list.sort(EditorGroupManager.COMPARATOR);
+      result = Collections.unmodifiableList(list);
+      if (modification == modificationCount.get()) {
+        snapshot = result;
+      }
+    }
+    return result;
+  }
+
+  private void modified() {
+    modificationCount.incrementAndGet();
+    snapshot = null;
+  }
+}
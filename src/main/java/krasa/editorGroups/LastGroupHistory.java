@@ -0,0 +1,94 @@
+package krasa.editorGroups;
+
+import krasa.editorGroups.model.AutoGroup;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Last selected group id per file path, in least recently selected order.
+ * <p>
+ * Only the newest {@link #MAX_SIZE} choices are kept. The persisted form is rebuilt only when something changed
+ * since the last {@link #getState} call.
+ */
+public class LastGroupHistory {
+  public static final int MAX_SIZE = 1000;
+
+  private final LinkedHashMap<String, String> lastGroupByPath = new LinkedHashMap<>(16, 0.75f, false) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+  @Nullable
+  private String newestPath;
+  private long modificationCount;
+
+  private long stateModificationCount = -1;
+  private boolean stateSkipSameName;
+  private boolean stateSkipFolders;
+  private List<ProjectComponent.StringPair> state;
+
+  @Nullable
+  public synchronized String get(@NotNull String path) {
+    return lastGroupByPath.get(path);
+  }
+
+  /**
+   * moves the path to the newest position
+   */
+  public synchronized void put(@NotNull String path, @NotNull String groupId) {
+    if (path.equals(newestPath) && groupId.equals(lastGroupByPath.get(path))) {
+      return;
+    }
+    lastGroupByPath.remove(path);
+    lastGroupByPath.put(path, groupId);
+    newestPath = path;
+    modificationCount++;
+  }
+
+  /**
+   * @param pairs oldest first, as produced by {@link #getState}
+   */
+  public synchronized void loadState(@NotNull List<ProjectComponent.StringPair> pairs) {
+    for (ProjectComponent.StringPair pair : pairs) {
+      if (pair.key != null && pair.value != null) {
+        lastGroupByPath.remove(pair.key);
+        lastGroupByPath.put(pair.key, pair.value);
+        newestPath = pair.key;
+      }
+    }
+    modificationCount++;
+  }
+
+  /**
+   * @param skipSameName {@link AutoGroup#SAME_FILE_NAME} is the default when enabled, no need to persist it
+   * @param skipFolders  {@link AutoGroup#DIRECTORY} is the default when enabled, no need to persist it
+   * @return oldest first, shared - do not modify
+   */
+  @NotNull
+  public synchronized List<ProjectComponent.StringPair> getState(boolean skipSameName, boolean skipFolders) {
+    if (state != null && stateModificationCount == modificationCount && stateSkipSameName == skipSameName && stateSkipFolders == skipFolders) {
+      return state;
+    }
+    List<ProjectComponent.StringPair> result = new ArrayList<>(lastGroupByPath.size());
+    for (Map.Entry<String, String> entry : lastGroupByPath.entrySet()) {
+      String last = entry.getValue();
+      if (skipSameName && AutoGroup.SAME_FILE_NAME.equals(last)) {
+        continue;
+      } else if (skipFolders && AutoGroup.DIRECTORY.equals(last)) {
+        continue;
+      }
+      result.add(new ProjectComponent.StringPair(entry.getKey(), last));
+    }
+    state = result;
+    stateSkipSameName = skipSameName;
+    stateSkipFolders = skipFolders;
+    stateModificationCount = modificationCount;
+    return result;
+  }
+}
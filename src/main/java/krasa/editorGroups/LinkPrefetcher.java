@@ -0,0 +1,92 @@
+package krasa.editorGroups;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import krasa.editorGroups.model.Link;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prepares links around the current one in background, so that {@link EditorGroupPanel#next} and
+ * {@link EditorGroupPanel#previous} do not open cold files.
+ */
+public class LinkPrefetcher implements Disposable {
+  private static final Logger LOG = Logger.getInstance(LinkPrefetcher.class);
+
+  /**
+   * links prefetched on each side of the current one
+   */
+  public static final int NEIGHBOURS = 2;
+
+  /**
+   * FileDocumentManager keeps unmodified documents only softly, the last prefetched ones are held until the next request
+   */
+  private volatile List<Document> prefetched = Collections.emptyList();
+
+  public static LinkPrefetcher getInstance(@NotNull Project project) {
+    return project.getService(LinkPrefetcher.class);
+  }
+
+  /**
+   * Resolves the files and loads the documents of the neighbouring links, replaces the previous request.
+   *
+   * @param currentIndex position of the current file in links
+   */
+  public void prefetch(@NotNull List<Link> links, int currentIndex) {
+    if (links.size() < 2 || currentIndex < 0 || currentIndex >= links.size()) {
+      return;
+    }
+    Set<Link> neighbours = new LinkedHashSet<>();
+    for (int i = 1; i <= NEIGHBOURS; i++) {
+      neighbours.add(links.get(Math.floorMod(currentIndex + i, links.size())));
+      neighbours.add(links.get(Math.floorMod(currentIndex - i, links.size())));
+    }
+    neighbours.remove(links.get(currentIndex));
+    List<Link> toPrefetch = new ArrayList<>(neighbours);
+
+    ReadAction.nonBlocking(() -> {
+        List<Document> documents = new ArrayList<>(toPrefetch.size());
+        for (Link link : toPrefetch) {
+          ProgressManager.checkCanceled();
+          Document document = prefetch(link);
+          if (document != null) {
+            documents.add(document);
+          }
+        }
+        prefetched = documents;
+      })
+      .coalesceBy(this)
+      .expireWith(this)
+      .submit(AppExecutorUtil.getAppExecutorService());
+  }
+
+  @Nullable
+  private static Document prefetch(@NotNull Link link) {
+    VirtualFile file = link.getVirtualFile();
+    if (file == null || file.isDirectory() || file.getFileType().isBinary() || FileUtilRt.isTooLarge(file.getLength())) {
+      return null;
+    }
+    Document document = FileDocumentManager.getInstance().getDocument(file);
+    if (LOG.isDebugEnabled()) LOG.debug("prefetched " + file);
+    return document;
+  }
+
+  @Override
+  public void dispose() {
+    prefetched = Collections.emptyList();
+  }
+}
@@ -22,9 +22,10 @@ import krasa.editorGroups.index.EditorGroupIndex;
 import krasa.editorGroups.model.*;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
@@ -32,7 +33,11 @@ public class PanelRefresher {
 	private static final Logger LOG = Logger.getInstance(PanelRefresher.class);
 
 	private final Project project;
+	private static final int INDEXING_CHANGES_DELAY_MS = 200;
+
 	private final AtomicBoolean cacheReady = new AtomicBoolean();
+	private final Queue<IndexingChange> indexingChanges = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean indexingChangesScheduled = new AtomicBoolean();
 	private final ExecutorService ourThreadExecutorsService;
 	private final IndexCache cache;
 	private FavoritesListener favoritesListener;
@@ -196,6 +201,91 @@ public class PanelRefresher {
 		}
 	}
 
+	/**
+	 * Called from the indexer, only records the change. Links are resolved and panels refreshed later on a background
+	 * thread, so that indexing does not wait for the file system.
+	 *
+	 * @param groups all groups the file defines
+	 */
+	public void onFileIndexed(@NotNull String ownerPath, @NotNull Collection<EditorGroupIndexValue> groups) {
+		indexingChanges.add(new IndexingChange(ownerPath, new ArrayList<>(groups), false));
+		scheduleIndexingChanges();
+	}
+
+	/**
+	 * Called from the indexer for files with {@code @group.disable}, see {@link #onFileIndexed}.
+	 */
+	public void onFileDisabled(@NotNull String ownerPath) {
+		indexingChanges.add(new IndexingChange(ownerPath, Collections.emptyList(), true));
+		scheduleIndexingChanges();
+	}
+
+	private void scheduleIndexingChanges() {
+		if (indexingChangesScheduled.compareAndSet(false, true)) {
+			AppExecutorUtil.getAppScheduledExecutorService().schedule(
+				() -> ourThreadExecutorsService.execute(this::processIndexingChanges),
+				INDEXING_CHANGES_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Only the newest change of each file is processed, its groups replace whatever the file defined before.
+	 * A read action cancelled by a write action is restarted, finished owners are dropped from the batch, so the restart
+	 * continues with the remaining ones.
+	 */
+	private void processIndexingChanges() {
+		indexingChangesScheduled.set(false);
+		Map<String, IndexingChange> changes = new LinkedHashMap<>();
+		IndexingChange change;
+		while ((change = indexingChanges.poll()) != null) {
+			changes.remove(change.ownerPath);
+			changes.put(change.ownerPath, change);
+		}
+		if (changes.isEmpty() || project.isDisposed()) {
+			return;
+		}
+
+		ReadAction.nonBlocking(() -> {
+				long start = System.currentTimeMillis();
+				int size = changes.size();
+				for (Iterator<IndexingChange> iterator = changes.values().iterator(); iterator.hasNext(); ) {
+					process(iterator.next());
+					iterator.remove();
+				}
+				if (LOG.isDebugEnabled())
+					LOG.debug("processIndexingChanges " + size + " files - " + (System.currentTimeMillis() - start) + "ms");
+			}
+		).inSmartMode(project).expireWith(project).submit(ourThreadExecutorsService).onError(LOG::error);
+	}
+
+	private void process(IndexingChange change) {
+		if (project.isDisposed()) {
+			return;
+		}
+		if (change.disabled) {
+			cache.removeGroup(change.ownerPath);
+			return;
+		}
+		List<String> ids = new ArrayList<>(change.groups.size());
+		for (EditorGroupIndexValue group : change.groups) {
+			onIndexingDone(change.ownerPath, group);
+			ids.add(group.getId());
+		}
+		cache.retainGroups(change.ownerPath, ids);
+	}
+
+	private static class IndexingChange {
+		private final String ownerPath;
+		private final List<EditorGroupIndexValue> groups;
+		private final boolean disabled;
+
+		IndexingChange(String ownerPath, List<EditorGroupIndexValue> groups, boolean disabled) {
+			this.ownerPath = ownerPath;
+			this.groups = groups;
+			this.disabled = disabled;
+		}
+	}
+
 	public EditorGroupIndexValue onIndexingDone(@NotNull String ownerPath, @NotNull EditorGroupIndexValue group) {
 		group = cache.onIndexingDone(ownerPath, group);
 		if (DumbService.isDumb(project)) { //optimization
@@ -233,6 +323,7 @@ public class PanelRefresher {
 							cache.initGroup(value);
 						}
 					}
+					cache.onAllGroupsInitialized();
 				} catch (ProcessCanceledException | IndexNotReadyException e) {
 					if (LOG.isDebugEnabled())
 						LOG.debug("initCache failed on IndexNotReadyException, will be executed again");
@@ -4,6 +4,7 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import krasa.editorGroups.model.*;
+import krasa.editorGroups.support.LinkSink;
 import krasa.editorGroups.support.RegexFileResolver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -11,6 +12,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class RegexGroupProvider {
   private static final Logger LOG = com.intellij.openapi.diagnostic.Logger.getInstance(RegexGroupProvider.class);
@@ -81,8 +83,25 @@ public class RegexGroupProvider {
   }
 
   public RegexGroup getRegexGroup(RegexGroup group, Project project, @Nullable VirtualFile currentFile) {
+    return getRegexGroup(group, project, currentFile, null);
+  }
+
+  /**
+   * @param partialGroups receives stub groups with the links found so far, while the rest is being resolved
+   */
+  public RegexGroup getRegexGroup(RegexGroup group, Project project, @Nullable VirtualFile currentFile, @Nullable Consumer<EditorGroup> partialGroups) {
+    LinkSink sink = null;
+    if (partialGroups != null) {
+      List<Link> found = new ArrayList<>();
+      sink = newLinks -> {
+        found.addAll(newLinks);
+        RegexGroup partialGroup = new RegexGroup(group.getRegexGroupModel(), group.getFolder(), List.copyOf(found), group.getFileName());
+        partialGroup.setStub(true);
+        partialGroups.accept(partialGroup);
+      };
+    }
     List<Link> links;
-    links = new RegexFileResolver(project).resolveRegexGroupLinks(group, currentFile);
+    links = new RegexFileResolver(project, sink).resolveRegexGroupLinks(group, currentFile);
     if (currentFile != null && links.isEmpty()) {
       LOG.error("should contain the current file at least: " + group);
     }
@@ -0,0 +1,104 @@
+package krasa.editorGroups;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import krasa.editorGroups.model.AutoGroup;
+import krasa.editorGroups.model.EditorGroup;
+import krasa.editorGroups.model.EditorGroupIndexValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+
+/**
+ * Colors and group decoration of a main editor tab title, stored on the VirtualFile.
+ * <p>
+ * Tab color and title providers are called for every tab on every repaint, the entry is recomputed only when the
+ * displayed group of the file, its {@link EditorGroup#getContentVersion()}, its size or the show size option changes.
+ * Each provider has its own entry, the title follows the group of the selected editor and the color the group of the file.
+ * Only the decoration is cached, the title of other providers depends on other open files and is asked for on each call.
+ */
+public final class TabPresentationCache {
+  private static final Key<TabPresentationCache> TITLE_KEY = Key.create("EDITOR_GROUPS_TAB_TITLE");
+  private static final Key<TabPresentationCache> COLOR_KEY = Key.create("EDITOR_GROUPS_TAB_COLOR");
+  /**
+   * stands for the title of other providers in {@link #decoration}
+   */
+  private static final String NAME_PLACEHOLDER = "\u0000";
+
+  @NotNull
+  private final EditorGroup group;
+  private final int contentVersion;
+  private final boolean showSize;
+  /**
+   * -1 unless shown, groups other than indexed ones have no content version
+   */
+  private final int size;
+  @Nullable
+  private final Color bgColor;
+  /**
+   * computed lazily, titles are needed only on EDT
+   */
+  @Nullable
+  private volatile String decoration;
+
+  private TabPresentationCache(@NotNull EditorGroup group, boolean showSize, int size) {
+    this.group = group;
+    this.contentVersion = group.getContentVersion();
+    this.showSize = showSize;
+    this.size = size;
+    this.bgColor = group.getBgColor();
+  }
+
+  private boolean isUpToDate(@NotNull EditorGroup group, boolean showSize, int size) {
+    return this.group == group
+      && contentVersion == group.getContentVersion()
+      && this.showSize == showSize
+      && this.size == size;
+  }
+
+  @NotNull
+  private static TabPresentationCache get(@NotNull Key<TabPresentationCache> key, @NotNull VirtualFile file, @Nullable EditorGroup group, int size) {
+    if (group == null) {
+      group = EditorGroup.EMPTY;
+    }
+    boolean showSize = ApplicationConfiguration.state().isShowSize();
+    TabPresentationCache cached = file.getUserData(key);
+    if (cached == null || !cached.isUpToDate(group, showSize, size)) {
+      cached = new TabPresentationCache(group, showSize, size);
+      file.putUserData(key, cached);
+    }
+    return cached;
+  }
+
+  @Nullable
+  public static Color getBgColor(@NotNull VirtualFile file, @Nullable EditorGroup group) {
+    return get(COLOR_KEY, file, group, -1).bgColor;
+  }
+
+  @NotNull
+  public static String getTitle(@NotNull Project project, @NotNull VirtualFile file, @Nullable EditorGroup group) {
+    int size = group != null && !(group instanceof EditorGroupIndexValue) && ApplicationConfiguration.state().isShowSize() ? group.size(project) : -1;
+    TabPresentationCache presentation = get(TITLE_KEY, file, group, size);
+    String decoration = presentation.decoration;
+    if (decoration == null) {
+      EditorGroup displayed = presentation.group;
+      decoration = NAME_PLACEHOLDER;
+      if (displayed.isValid() && !(displayed instanceof AutoGroup)) {
+        decoration = displayed.getPresentableTitle(project, NAME_PLACEHOLDER, presentation.showSize);
+      }
+      presentation.decoration = decoration;
+    }
+    String name = EditorGroupTabTitleProvider.getPresentableNameForUI(project, file, null, false);
+    return decoration.replace(NAME_PLACEHOLDER, name);
+  }
+
+  /**
+   * Called when the panel renders a new group.
+   */
+  public static void invalidate(@NotNull VirtualFile file) {
+    file.putUserData(TITLE_KEY, null);
+    file.putUserData(COLOR_KEY, null);
+  }
+}
@@ -24,12 +24,15 @@ public class PopupMenu {
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.Previous"));
     group.add(new Separator());
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ReindexThisFile"));
+    group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ReindexGroupFiles"));
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.Reindex"));
+    group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ShowGroupSelectionTraces"));
     group.add(new Separator());
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleAutoSameNameGroups"));
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleFolderEditorGroups"));
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleForce"));
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleHideEmpty"));
+    group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleTraceGroupSelection"));
 //		group.add(ActionManager.getInstance().getAction("krasa.editorGroups.ToggleShowSize"));
     group.add(new Separator());
     group.add(ActionManager.getInstance().getAction("krasa.editorGroups.OpenConfiguration"));
@@ -0,0 +1,64 @@
+package krasa.editorGroups.actions;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ui.DialogBuilder;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBUI;
+import krasa.editorGroups.ApplicationConfiguration;
+import krasa.editorGroups.EditorGroupPanel;
+import krasa.editorGroups.GroupSelectionTrace;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Shows the last {@link GroupSelectionTrace.Buffer#SIZE} group selections of the current editor, enables tracing if it is off.
+ */
+public class ShowGroupSelectionTracesAction extends EditorGroupsAction {
+
+  @Override
+  public @NotNull ActionUpdateThread getActionUpdateThread() {
+    return ActionUpdateThread.EDT;
+  }
+
+  @Override
+  public void update(@NotNull AnActionEvent e) {
+    e.getPresentation().setEnabled(getEditorGroupPanel(e) != null);
+  }
+
+  @Override
+  public void actionPerformed(@NotNull AnActionEvent e) {
+    EditorGroupPanel panel = getEditorGroupPanel(e);
+    if (panel == null) {
+      return;
+    }
+
+    StringBuilder sb = new StringBuilder();
+    if (!ApplicationConfiguration.state().isTraceGroupSelection()) {
+      ApplicationConfiguration.state().setTraceGroupSelection(true);
+      sb.append("Tracing was disabled and is now enabled, refreshing the panel.\n\n");
+      panel._refresh(false, null);
+    }
+
+    List<GroupSelectionTrace> traces = panel.getSelectionTraces();
+    if (traces.isEmpty()) {
+      sb.append("No traces recorded yet for ").append(panel.getFile().getName());
+    }
+    for (GroupSelectionTrace trace : traces) {
+      sb.append(trace).append('\n');
+    }
+
+    JBTextArea textArea = new JBTextArea(sb.toString(), 30, 120);
+    textArea.setEditable(false);
+    textArea.setFont(JBUI.Fonts.create("Monospaced", 12));
+    textArea.setCaretPosition(0);
+
+    DialogBuilder builder = new DialogBuilder(e.getProject());
+    builder.setTitle("Editor Groups - Group Selection Traces");
+    builder.setCenterPanel(new JBScrollPane(textArea));
+    builder.addOkAction();
+    builder.show();
+  }
+}
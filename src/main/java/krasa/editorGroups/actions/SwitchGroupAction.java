@@ -5,16 +5,20 @@ import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.actionSystem.ex.CustomComponentAction;
 import com.intellij.openapi.actionSystem.impl.ActionButton;
 import com.intellij.openapi.actionSystem.impl.ActionMenuItem;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.FileEditor;
-import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.DumbAwareAction;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.openapi.ui.popup.ListPopup;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.PopupHandler;
+import com.intellij.ui.popup.list.ListPopupImpl;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import krasa.editorGroups.*;
 import krasa.editorGroups.icons.MyIcons;
 import krasa.editorGroups.model.*;
@@ -29,7 +33,7 @@ import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
 import java.util.List;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
 
 import static krasa.editorGroups.actions.PopupMenu.popupInvoked;
 
@@ -69,61 +73,201 @@ public class SwitchGroupAction extends QuickSwitchSchemeAction implements DumbAw
   }
 
 
+  @Override
+  public void actionPerformed(@NotNull AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+    DataContext dataContext = e.getDataContext();
+    PopupContent content = new PopupContent(project, dataContext);
+    SwitchGroupPopupStep step = new SwitchGroupPopupStep(getPopupTitle(e), content.sections, ApplicationConfiguration.state().isGroupSwitchGroupAction(), dataContext, myActionPlace);
+    ListPopupImpl popup = (ListPopupImpl) JBPopupFactory.getInstance().createListPopup(step);
+    content.loadInBackground(popup, step);
+    showPopup(e, popup);
+  }
+
+  /**
+   * Synchronous variant, {@link #actionPerformed} loads the slow sections in background.
+   */
   @Override
   protected void fillActions(Project project, @NotNull DefaultActionGroup defaultActionGroup, @NotNull DataContext dataContext) {
     try {
+      PopupContent content = new PopupContent(project, dataContext);
+      content.loadSynchronously();
+      SwitchGroupPopupStep step = new SwitchGroupPopupStep(null, content.sections, ApplicationConfiguration.state().isGroupSwitchGroupAction(), dataContext, myActionPlace);
+      for (AnAction action : step.getValues()) {
+        String separator = step.getSeparatorTitle(action);
+        if (separator != null) {
+          defaultActionGroup.add(new Separator(separator.isEmpty() ? null : separator));
+        }
+        defaultActionGroup.add(action);
+      }
+    } catch (IndexNotReadyException e) {
+      LOG.error("That should not happen", e);
+    }
+  }
+
+  /**
+   * Cheap sections are filled in the constructor, groups of the current file, other indexed groups and favorites are
+   * computed later - either in background or synchronously.
+   */
+  private class PopupContent {
+    private final Project project;
+    @Nullable
+    private final EditorGroupPanel panel;
+    @Nullable
+    private final VirtualFile file;
+    private final EditorGroup displayedGroup;
+    private final List<RegexGroup> regexGroups;
+    private List<EditorGroup> currentGroups = Collections.emptyList();
+
+    private final List<SwitchGroupPopupStep.Section> sections = new ArrayList<>();
+    @Nullable
+    private final SwitchGroupPopupStep.Section currentFileSection;
+    private final SwitchGroupPopupStep.Section otherGroupsSection = new SwitchGroupPopupStep.Section("Other Groups", true);
+    private final SwitchGroupPopupStep.Section favoritesSection = new SwitchGroupPopupStep.Section("Favourites", true);
+
+    PopupContent(Project project, DataContext dataContext) {
+      this.project = project;
       FileEditor data = dataContext.getData(PlatformDataKeys.FILE_EDITOR);
-      EditorGroupPanel panel = null;
-      EditorGroup displayedGroup = EditorGroup.EMPTY;
-      List<EditorGroup> editorGroups = Collections.emptyList();
-      DefaultActionGroup tempGroup = new DefaultActionGroup();
-      VirtualFile file = null;
-      List<RegexGroup> regexGroups = Collections.emptyList();
+      panel = data != null ? data.getUserData(EditorGroupPanel.EDITOR_PANEL) : null;
 
+      List<AnAction> head = new ArrayList<>();
+      if (panel != null) {
+        file = panel.getFile();
+        displayedGroup = panel.getDisplayedGroup();
 
-      if (data != null) {
-        panel = data.getUserData(EditorGroupPanel.EDITOR_PANEL);
-        if (panel != null) {
-          file = panel.getFile();
-          displayedGroup = panel.getDisplayedGroup();
+        head.add(createAction(displayedGroup, new SameNameGroup(file.getNameWithoutExtension(), Collections.emptyList()), project, refreshHandler(panel)));
+        head.add(createAction(displayedGroup, new FolderGroup(file.getParent(), Collections.emptyList()), project, refreshHandler(panel)));
+        head.add(createAction(displayedGroup, new HidePanelGroup(), project, refreshHandler(panel)));
 
-          defaultActionGroup.add(createAction(displayedGroup, new SameNameGroup(file.getNameWithoutExtension(), Collections.emptyList()), project, refreshHandler(panel)));
-          defaultActionGroup.add(createAction(displayedGroup, new FolderGroup(file.getParent(), Collections.emptyList()), project, refreshHandler(panel)));
-          defaultActionGroup.add(createAction(displayedGroup, new HidePanelGroup(), project, refreshHandler(panel)));
+        regexGroups = RegexGroupProvider.getInstance(project).findMatchingRegexGroups_stub(file);
+      } else {
+        file = null;
+        displayedGroup = EditorGroup.EMPTY;
+        regexGroups = Collections.emptyList();
+      }
+      head.add(createBookmarkAction(project, panel, displayedGroup, file));
+      sections.add(new SwitchGroupPopupStep.Section(null, false, head));
 
+      if (panel != null) {
+        currentFileSection = new SwitchGroupPopupStep.Section("Groups for the Current File", true);
+        sections.add(currentFileSection);
+        sections.add(new SwitchGroupPopupStep.Section(null, true, getRegexGroupActions(project, panel, regexGroups)));
+      } else {
+        currentFileSection = null;
+      }
+      sections.add(otherGroupsSection);
+      sections.add(favoritesSection);
+      sections.add(new SwitchGroupPopupStep.Section("Regexps", true, getGlobalRegexGroupActions(project, displayedGroup, regexGroups)));
+      sections.add(new SwitchGroupPopupStep.Section("", false, Collections.singletonList(ActionManager.getInstance().getAction("krasa.editorGroups.OpenConfiguration"))));
+    }
 
-          editorGroups = fillCurrentFileGroups(project, tempGroup, panel, file);
-          regexGroups = fillRegexGroups(project, tempGroup, panel, file);
-        }
+    void loadSynchronously() {
+      if (currentFileSection != null) {
+        currentGroups = EditorGroupManager.getInstance(project).getGroups(file);
+        currentFileSection.setActions(getCurrentFileGroupActions());
       }
+      otherGroupsSection.setActions(getOtherIndexedGroupActions());
+      favoritesSection.setActions(getFavoritesActions());
+    }
 
-      addBookmarkGroup(project, defaultActionGroup, panel, displayedGroup, file);
-      fillOtherIndexedGroups(tempGroup, editorGroups, displayedGroup, project);
-      fillFavorites(tempGroup, project, editorGroups, displayedGroup);
-      fillGlobalRegexGroups(tempGroup, project, editorGroups, displayedGroup, regexGroups);
+    /**
+     * Other groups and favorites exclude groups of the current file, so they are started after those are known.
+     * Everything is cancelled when the popup closes.
+     */
+    void loadInBackground(ListPopupImpl popup, SwitchGroupPopupStep step) {
+      ModalityState modalityState = ModalityState.current();
+      if (currentFileSection == null) {
+        loadInBackground(popup, step, otherGroupsSection, this::getOtherIndexedGroupActions, modalityState);
+        loadInBackground(popup, step, favoritesSection, this::getFavoritesActions, modalityState);
+        return;
+      }
+      ReadAction.nonBlocking(() -> EditorGroupManager.getInstance(project).getGroups(file))
+        .expireWhen(popup::isDisposed)
+        .finishOnUiThread(modalityState, groups -> {
+          currentGroups = groups;
+          currentFileSection.setActions(getCurrentFileGroupActions());
+          update(popup, step);
+          loadInBackground(popup, step, otherGroupsSection, this::getOtherIndexedGroupActions, modalityState);
+          loadInBackground(popup, step, favoritesSection, this::getFavoritesActions, modalityState);
+        })
+        .submit(AppExecutorUtil.getAppExecutorService());
+    }
 
+    private void loadInBackground(ListPopupImpl popup, SwitchGroupPopupStep step, SwitchGroupPopupStep.Section section, Callable<List<AnAction>> computation, ModalityState modalityState) {
+      ReadAction.nonBlocking(computation)
+        .expireWhen(popup::isDisposed)
+        .finishOnUiThread(modalityState, actions -> {
+          section.setActions(actions);
+          update(popup, step);
+        })
+        .submit(AppExecutorUtil.getAppExecutorService());
+    }
 
-      if (ApplicationConfiguration.state().isGroupSwitchGroupAction()) {
-        defaultActionGroup.addAll(tempGroup.getChildActionsOrStubs());
-      } else {
-        AnAction[] childActionsOrStubs = tempGroup.getChildActionsOrStubs();
-        List<AnAction> list = Arrays.stream(childActionsOrStubs)
-          .filter(anAction -> !(anAction instanceof Separator))
-          .sorted((o1, o2) -> o1.getTemplatePresentation().getText().compareToIgnoreCase(o2.getTemplatePresentation().getText())).collect(Collectors.toList());
-        defaultActionGroup.add(new Separator());
-        defaultActionGroup.addAll(list);
+    private void update(ListPopupImpl popup, SwitchGroupPopupStep step) {
+      Object selectedValue = popup.getList().getSelectedValue();
+      step.rebuild();
+      popup.getListModel().syncModel();
+      if (selectedValue != null) {
+        popup.getList().setSelectedValue(selectedValue, false);
       }
+      popup.pack(true, true);
+    }
 
-      defaultActionGroup.add(new Separator());
-//			defaultActionGroup.add(ActionManager.getInstance().getAction("krasa.editorGroups.TogglePanelVisibility"));
-      defaultActionGroup.add(ActionManager.getInstance().getAction("krasa.editorGroups.OpenConfiguration"));
-    } catch (IndexNotReadyException e) {
-      LOG.error("That should not happen", e);
+    private List<AnAction> getCurrentFileGroupActions() {
+      List<AnAction> result = new ArrayList<>();
+      for (EditorGroup g : currentGroups) {
+        result.add(createAction(displayedGroup, g, project, refreshHandler(Objects.requireNonNull(panel))));
+      }
+      return result;
+    }
+
+    private List<AnAction> getOtherIndexedGroupActions() {
+      List<AnAction> result = new ArrayList<>();
+      try {
+        Set<EditorGroup> excluded = new HashSet<>(currentGroups);
+        List<EditorGroupIndexValue> allGroups = EditorGroupManager.getInstance(project).getAllIndexedGroups();
+        for (EditorGroupIndexValue g : allGroups) {
+          if (!excluded.contains(g)) {
+            result.add(createAction(displayedGroup, g, project, otherGroupHandler(project)));
+          }
+        }
+      } catch (IndexNotReadyException e) {
+        AnAction action = new AnAction("Indexing...") {
+          @Override
+          public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
+
+          }
+        };
+        action.getTemplatePresentation().setEnabled(false);
+        result.add(action);
+      }
+      return result;
     }
-  }
 
+    private List<AnAction> getFavoritesActions() {
+      Collection<FavoritesGroup> favoritesGroups = ExternalGroupProvider.getInstance(project).getFavoritesGroups();
 
-  private void addBookmarkGroup(Project project, @NotNull DefaultActionGroup defaultActionGroup, EditorGroupPanel panel, EditorGroup displayedGroup, VirtualFile file) {
+      Set<String> alreadyDisplayed = new HashSet<>();
+      for (EditorGroup group : currentGroups) {
+        if (group instanceof FavoritesGroup) {
+          alreadyDisplayed.add(((FavoritesGroup) group).getName());
+        }
+      }
+
+      List<AnAction> result = new ArrayList<>();
+      for (FavoritesGroup favoritesGroup : favoritesGroups) {
+        if (!alreadyDisplayed.contains(favoritesGroup.getName())) {
+          result.add(createAction(displayedGroup, favoritesGroup, project, otherGroupHandler(project)));
+        }
+      }
+      return result;
+    }
+  }
+
+  private AnAction createBookmarkAction(Project project, EditorGroupPanel panel, EditorGroup displayedGroup, VirtualFile file) {
     BookmarkGroup bookmarkGroup = ExternalGroupProvider.getInstance(project).getBookmarkGroup();
     DumbAwareAction action = createAction(displayedGroup, bookmarkGroup, project, new Handler() {
       @Override
@@ -139,79 +283,18 @@ public class SwitchGroupAction extends QuickSwitchSchemeAction implements DumbAw
       action.getTemplatePresentation().setEnabled(false);
       action.getTemplatePresentation().setText(bookmarkGroup.getName() + " - empty");
     }
-    defaultActionGroup.add(action);
-  }
-
-  private List<EditorGroup> fillCurrentFileGroups(Project project, @NotNull DefaultActionGroup group, EditorGroupPanel panel, VirtualFile file) {
-    EditorGroup displayedGroup = panel.getDisplayedGroup();
-    EditorGroupManager manager = EditorGroupManager.getInstance(project);
-    List<EditorGroup> groups = manager.getGroups(file);
-
-    group.add(new Separator("Groups for the Current File"));
-
-    for (EditorGroup g : groups) {
-      group.add(createAction(displayedGroup, g, project, refreshHandler(panel)));
-    }
-    return groups;
+    return action;
   }
 
-  private List<RegexGroup> fillRegexGroups(Project project, @NotNull DefaultActionGroup group, EditorGroupPanel panel, VirtualFile file) {
-    List<RegexGroup> regexGroups = RegexGroupProvider.getInstance(project).findMatchingRegexGroups_stub(file);
-
+  private List<AnAction> getRegexGroupActions(Project project, EditorGroupPanel panel, List<RegexGroup> regexGroups) {
+    List<AnAction> result = new ArrayList<>();
     for (RegexGroup regexGroup : regexGroups) {
-      group.add(createAction(panel.getDisplayedGroup(), regexGroup, project, refreshHandler(panel)));
-    }
-    return regexGroups;
-  }
-
-  private void fillOtherIndexedGroups(DefaultActionGroup group, List<EditorGroup> currentGroups, EditorGroup displayedGroup, Project project) {
-    EditorGroupManager manager = EditorGroupManager.getInstance(project);
-
-    group.add(new Separator("Other Groups"));
-
-    try {
-      List<EditorGroupIndexValue> allGroups = manager.getAllIndexedGroups();
-      for (EditorGroupIndexValue g : allGroups) {
-        if (!((Collection<EditorGroup>) currentGroups).contains(g)) {
-          group.add(createAction(displayedGroup, g, project, otherGroupHandler(project)));
-        }
-      }
-
-    } catch (ProcessCanceledException | IndexNotReadyException e) {
-      AnAction action = new AnAction("Indexing...") {
-        @Override
-        public void actionPerformed(@NotNull AnActionEvent anActionEvent) {
-
-        }
-      };
-      action.getTemplatePresentation().setEnabled(false);
-      group.add(action);
-    }
-
-
-  }
-
-  private void fillFavorites(DefaultActionGroup defaultActionGroup, Project project, List<EditorGroup> editorGroups, EditorGroup displayedGroup) {
-    Collection<FavoritesGroup> favoritesGroups = ExternalGroupProvider.getInstance(project).getFavoritesGroups();
-
-    Set<String> alreadyDisplayed = new HashSet<>();
-    for (EditorGroup group : editorGroups) {
-      if (group instanceof FavoritesGroup) {
-        alreadyDisplayed.add(((FavoritesGroup) group).getName());
-      }
-    }
-
-    if (!favoritesGroups.isEmpty()) {
-      defaultActionGroup.add(new Separator("Favourites"));
-      for (FavoritesGroup favoritesGroup : favoritesGroups) {
-        if (!alreadyDisplayed.contains(favoritesGroup.getName())) {
-          defaultActionGroup.add(createAction(displayedGroup, favoritesGroup, project, otherGroupHandler(project)));
-        }
-      }
+      result.add(createAction(panel.getDisplayedGroup(), regexGroup, project, refreshHandler(panel)));
     }
+    return result;
   }
 
-  private void fillGlobalRegexGroups(DefaultActionGroup defaultActionGroup, Project project, List<EditorGroup> editorGroups, EditorGroup displayedGroup, List<RegexGroup> alreadyFilledRegexGroups) {
+  private List<AnAction> getGlobalRegexGroupActions(Project project, EditorGroup displayedGroup, List<RegexGroup> alreadyFilledRegexGroups) {
     List<RegexGroup> regexGroups = RegexGroupProvider.getInstance(project).findProjectRegexGroups_stub();
 
     Set<String> alreadyDisplayed = new HashSet<>();
@@ -221,20 +304,19 @@ public class SwitchGroupAction extends QuickSwitchSchemeAction implements DumbAw
       }
     }
 
-    if (!regexGroups.isEmpty()) {
-      defaultActionGroup.add(new Separator("Regexps"));
-      for (RegexGroup group : regexGroups) {
-        if (!alreadyDisplayed.contains(group.getRegexGroupModel().getRegex())) {
-          defaultActionGroup.add(createAction(displayedGroup, group, project, new Handler() {
-            @Override
-            void run(EditorGroup groupLink) {
-              RegexGroup regexGroup = RegexGroupProvider.getInstance(project).getRegexGroup(group, project, null);
-              otherGroupHandler(project).run(regexGroup);
-            }
-          }));
-        }
+    List<AnAction> result = new ArrayList<>();
+    for (RegexGroup group : regexGroups) {
+      if (!alreadyDisplayed.contains(group.getRegexGroupModel().getRegex())) {
+        result.add(createAction(displayedGroup, group, project, new Handler() {
+          @Override
+          void run(EditorGroup groupLink) {
+            RegexGroup regexGroup = RegexGroupProvider.getInstance(project).getRegexGroup(group, project, null);
+            otherGroupHandler(project).run(regexGroup);
+          }
+        }));
       }
     }
+    return result;
   }
 
   @NotNull
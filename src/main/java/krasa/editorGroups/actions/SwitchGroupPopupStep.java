@@ -0,0 +1,184 @@
+package krasa.editorGroups.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.actionSystem.ex.ActionUtil;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.ui.popup.ListSeparator;
+import com.intellij.openapi.ui.popup.PopupStep;
+import com.intellij.openapi.ui.popup.util.BaseListPopupStep;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.*;
+
+/**
+ * Popup content made of sections, a section can be still loading and is then represented by a disabled placeholder.
+ * After a section is filled, {@link #rebuild()} and sync the popup list model.
+ */
+class SwitchGroupPopupStep extends BaseListPopupStep<AnAction> {
+
+  static class Section {
+    /**
+     * separator above the section, null for none
+     */
+    @Nullable
+    private final String title;
+    /**
+     * sorted together with other sortable sections when groups are not displayed
+     */
+    private final boolean sortable;
+    @NotNull
+    private final AnAction placeholder;
+    /**
+     * null while loading
+     */
+    @Nullable
+    private List<AnAction> actions;
+
+    Section(@Nullable String title, boolean sortable) {
+      this.title = title;
+      this.sortable = sortable;
+      placeholder = new DumbAwareAction("Loading...") {
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e) {
+        }
+      };
+      placeholder.getTemplatePresentation().setEnabled(false);
+    }
+
+    Section(@Nullable String title, boolean sortable, @NotNull List<AnAction> actions) {
+      this(title, sortable);
+      this.actions = actions;
+    }
+
+    void setActions(@NotNull List<AnAction> actions) {
+      this.actions = actions;
+    }
+
+    boolean isLoaded() {
+      return actions != null;
+    }
+
+    @NotNull
+    private List<AnAction> getActionsOrPlaceholder() {
+      return actions != null ? actions : Collections.singletonList(placeholder);
+    }
+  }
+
+  private final List<Section> sections;
+  private final boolean grouped;
+  private final DataContext dataContext;
+  private final String place;
+  private final List<AnAction> values = new ArrayList<>();
+  private final Map<AnAction, String> separators = new HashMap<>();
+
+  SwitchGroupPopupStep(@Nullable String title, @NotNull List<Section> sections, boolean grouped, @NotNull DataContext dataContext, @NotNull String place) {
+    this.sections = sections;
+    this.grouped = grouped;
+    this.dataContext = dataContext;
+    this.place = place;
+    rebuild();
+    init(title, values, null);
+  }
+
+  void rebuild() {
+    values.clear();
+    separators.clear();
+
+    List<AnAction> sorted = null;
+    List<AnAction> loading = null;
+    for (Section section : sections) {
+      if (!grouped && section.sortable) {
+        if (sorted == null) {
+          sorted = new ArrayList<>();
+          loading = new ArrayList<>();
+        }
+        if (section.isLoaded()) {
+          sorted.addAll(section.actions);
+        } else {
+          loading.add(section.placeholder);
+        }
+        continue;
+      }
+      if (sorted != null) {
+        addSorted(sorted, loading);
+        sorted = null;
+        loading = null;
+      }
+      add(section.title, section.getActionsOrPlaceholder());
+    }
+    if (sorted != null) {
+      addSorted(sorted, loading);
+    }
+  }
+
+  private void addSorted(List<AnAction> sorted, List<AnAction> loading) {
+    sorted.sort((o1, o2) -> getTextFor(o1).compareToIgnoreCase(getTextFor(o2)));
+    sorted.addAll(loading);
+    add("", sorted);
+  }
+
+  private void add(@Nullable String separator, List<AnAction> actions) {
+    if (actions.isEmpty()) {
+      return;
+    }
+    if (separator != null) {
+      separators.put(actions.get(0), separator);
+    }
+    values.addAll(actions);
+  }
+
+  /**
+   * @return null when there is no separator above, empty string for a separator without a title
+   */
+  @Nullable
+  String getSeparatorTitle(AnAction value) {
+    return separators.get(value);
+  }
+
+  @NotNull
+  @Override
+  public List<AnAction> getValues() {
+    return values;
+  }
+
+  @NotNull
+  @Override
+  public String getTextFor(AnAction value) {
+    String text = value.getTemplatePresentation().getText();
+    return text == null ? "" : text;
+  }
+
+  @Override
+  public Icon getIconFor(AnAction value) {
+    return value.getTemplatePresentation().getIcon();
+  }
+
+  @Override
+  public boolean isSelectable(AnAction value) {
+    return value.getTemplatePresentation().isEnabled();
+  }
+
+  @Nullable
+  @Override
+  public ListSeparator getSeparatorAbove(AnAction value) {
+    String title = separators.get(value);
+    if (title == null) {
+      return null;
+    }
+    return new ListSeparator(title.isEmpty() ? null : title);
+  }
+
+  @Override
+  public boolean isSpeedSearchEnabled() {
+    return true;
+  }
+
+  @Override
+  public @Nullable PopupStep<?> onChosen(AnAction selectedValue, boolean finalChoice) {
+    return doFinalStep(() -> ActionUtil.invokeAction(selectedValue, dataContext, place, null, null));
+  }
+}
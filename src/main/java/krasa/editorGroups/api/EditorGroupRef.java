@@ -0,0 +1,13 @@
+package krasa.editorGroups.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable description of a group, as seen by {@link EditorGroupsApi}.
+ *
+ * @param id        unique id of the group
+ * @param title     title from {@code @group.title}, may be empty
+ * @param ownerPath path of the file which defines the group
+ */
+public record EditorGroupRef(@NotNull String id, @NotNull String title, @NotNull String ownerPath) {
+}
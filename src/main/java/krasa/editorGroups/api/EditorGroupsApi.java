@@ -0,0 +1,270 @@
+package krasa.editorGroups.api;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Alarm;
+import krasa.editorGroups.model.EditorGroup;
+import krasa.editorGroups.model.Link;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Read-only access to groups defined in indexed files, for other plugins.
+ * <p>
+ * Queries read an immutable snapshot, they can be called from any thread without a read action and never touch the index.
+ * The snapshot is updated shortly after groups are resolved or removed, each update is published to
+ * {@link GroupMembershipListener#TOPIC}. Favorites, bookmarks, regex groups and automatic groups are not included.
+ * <pre>
+ * List&lt;EditorGroupRef&gt; groups = EditorGroupsApi.getInstance(project).getGroups(file);
+ * </pre>
+ */
+public class EditorGroupsApi implements Disposable {
+  private static final Logger LOG = Logger.getInstance(EditorGroupsApi.class);
+  private static final int FLUSH_DELAY_MS = 100;
+
+  @NotNull
+  private final Project project;
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+  private final Object lock = new Object();
+  private List<Change> pending = new ArrayList<>();
+  /**
+   * changes taken by {@link #flush()} and not in the snapshot yet
+   */
+  private boolean flushing;
+  private final Alarm flushAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+
+  public static EditorGroupsApi getInstance(@NotNull Project project) {
+    return project.getService(EditorGroupsApi.class);
+  }
+
+  public EditorGroupsApi(@NotNull Project project) {
+    this.project = project;
+  }
+
+  /**
+   * @return groups containing or owning the file, unmodifiable
+   */
+  @NotNull
+  public List<EditorGroupRef> getGroups(@NotNull VirtualFile file) {
+    return getGroups(file.getPath());
+  }
+
+  /**
+   * @return groups containing or owning the file at the path, unmodifiable
+   */
+  @NotNull
+  public List<EditorGroupRef> getGroups(@NotNull String path) {
+    return snapshot.groupsByFile().getOrDefault(path, Collections.emptyList());
+  }
+
+  /**
+   * @return paths of files in the group, empty for unknown ids, unmodifiable
+   */
+  @NotNull
+  public Set<String> getFiles(@NotNull String groupId) {
+    Member member = snapshot.membersById().get(groupId);
+    return member != null ? member.files() : Collections.emptySet();
+  }
+
+  @ApiStatus.Internal
+  public void groupResolved(@NotNull EditorGroup group, @NotNull List<Link> links) {
+    Set<String> files = new HashSet<>(links.size() + 1);
+    files.add(group.getOwnerPath());
+    for (Link link : links) {
+      files.add(link.getPath());
+    }
+    EditorGroupRef ref = new EditorGroupRef(group.getId(), Objects.toString(group.getTitle(), ""), group.getOwnerPath());
+    Member member = snapshot.membersById().get(ref.id());
+    if (member != null && member.ref().equals(ref) && member.files().equals(files)) {
+      synchronized (lock) {
+        if (pending.isEmpty() && !flushing) {
+          return; // revalidated or refreshed, nothing changed
+        }
+      }
+    }
+    schedule(new GroupChange(ref, Collections.unmodifiableSet(files)));
+  }
+
+  @ApiStatus.Internal
+  public void ownerRemoved(@NotNull String ownerPath) {
+    schedule(new OwnerChanged(ownerPath, Collections.emptySet()));
+  }
+
+  /**
+   * @param ids groups the owner file defines after reindexing
+   */
+  @ApiStatus.Internal
+  public void retainGroups(@NotNull String ownerPath, @NotNull Collection<String> ids) {
+    schedule(new OwnerChanged(ownerPath, Set.copyOf(ids)));
+  }
+
+  @ApiStatus.Internal
+  public void clear() {
+    schedule(new Cleared());
+  }
+
+  private void schedule(@NotNull Change change) {
+    synchronized (lock) {
+      pending.add(change);
+      if (pending.size() > 1) {
+        return;
+      }
+    }
+    if (!flushAlarm.isDisposed()) {
+      flushAlarm.addRequest(this::flush, FLUSH_DELAY_MS);
+    }
+  }
+
+  private synchronized void flush() {
+    List<Change> changes;
+    synchronized (lock) {
+      changes = pending;
+      pending = new ArrayList<>();
+      flushing = !changes.isEmpty();
+    }
+    if (changes.isEmpty()) {
+      return;
+    }
+
+    Update update;
+    try {
+      update = apply(snapshot, changes);
+      snapshot = update.snapshot();
+    } finally {
+      synchronized (lock) {
+        flushing = false;
+      }
+    }
+    GroupMembershipDiff diff = update.diff();
+    if (LOG.isDebugEnabled()) LOG.debug("flush changes=" + changes.size() + " added=" + diff.added().size() + " removed=" + diff.removed().size());
+
+    if ((!diff.added().isEmpty() || !diff.removed().isEmpty()) && !project.isDisposed()) {
+      project.getMessageBus().syncPublisher(GroupMembershipListener.TOPIC).membershipChanged(diff);
+    }
+  }
+
+  /**
+   * @return the snapshot after the changes and what they changed, the old snapshot is not modified and is returned when
+   * nothing changed
+   */
+  @NotNull
+  static Update apply(@NotNull Snapshot old, @NotNull List<Change> changes) {
+    Map<String, List<EditorGroupRef>> groupsByFile = new HashMap<>(old.groupsByFile());
+    Map<String, Member> membersById = new HashMap<>(old.membersById());
+    Map<String, Set<EditorGroupRef>> added = new HashMap<>();
+    Map<String, Set<EditorGroupRef>> removed = new HashMap<>();
+
+    for (Change change : changes) {
+      if (change instanceof GroupChange groupChange) {
+        EditorGroupRef ref = groupChange.ref();
+        Member previous = membersById.put(ref.id(), new Member(ref, groupChange.files()));
+        if (previous != null) {
+          for (String file : previous.files()) {
+            if (!groupChange.files().contains(file) || !previous.ref().equals(ref)) {
+              remove(groupsByFile, added, removed, file, previous.ref());
+            }
+          }
+        }
+        for (String file : groupChange.files()) {
+          if (previous == null || !previous.files().contains(file) || !previous.ref().equals(ref)) {
+            add(groupsByFile, added, removed, file, ref);
+          }
+        }
+      } else {
+        OwnerChanged ownerChanged = change instanceof OwnerChanged ? (OwnerChanged) change : null;
+        for (Iterator<Member> iterator = membersById.values().iterator(); iterator.hasNext(); ) {
+          Member member = iterator.next();
+          if (ownerChanged == null || ownerChanged.isRemoved(member.ref())) {
+            iterator.remove();
+            for (String file : member.files()) {
+              remove(groupsByFile, added, removed, file, member.ref());
+            }
+          }
+        }
+      }
+    }
+
+    if (added.isEmpty() && removed.isEmpty()) {
+      return new Update(old, new GroupMembershipDiff(Collections.emptyMap(), Collections.emptyMap()));
+    }
+    Snapshot snapshot = new Snapshot(Collections.unmodifiableMap(groupsByFile), Collections.unmodifiableMap(membersById));
+    return new Update(snapshot, new GroupMembershipDiff(unmodifiable(added), unmodifiable(removed)));
+  }
+
+  private static void add(Map<String, List<EditorGroupRef>> groupsByFile, Map<String, Set<EditorGroupRef>> added,
+                          Map<String, Set<EditorGroupRef>> removed, String file, EditorGroupRef ref) {
+    List<EditorGroupRef> groups = new ArrayList<>(groupsByFile.getOrDefault(file, Collections.emptyList()));
+    groups.add(ref);
+    groupsByFile.put(file, List.copyOf(groups));
+    if (!removeFrom(removed, file, ref)) {
+      added.computeIfAbsent(file, k -> new HashSet<>()).add(ref);
+    }
+  }
+
+  private static void remove(Map<String, List<EditorGroupRef>> groupsByFile, Map<String, Set<EditorGroupRef>> added,
+                             Map<String, Set<EditorGroupRef>> removed, String file, EditorGroupRef ref) {
+    List<EditorGroupRef> groups = new ArrayList<>(groupsByFile.getOrDefault(file, Collections.emptyList()));
+    groups.remove(ref);
+    if (groups.isEmpty()) {
+      groupsByFile.remove(file);
+    } else {
+      groupsByFile.put(file, List.copyOf(groups));
+    }
+    if (!removeFrom(added, file, ref)) {
+      removed.computeIfAbsent(file, k -> new HashSet<>()).add(ref);
+    }
+  }
+
+  /**
+   * a group added and removed within one flush is not reported
+   */
+  private static boolean removeFrom(Map<String, Set<EditorGroupRef>> diff, String file, EditorGroupRef ref) {
+    Set<EditorGroupRef> refs = diff.get(file);
+    if (refs == null || !refs.remove(ref)) {
+      return false;
+    }
+    if (refs.isEmpty()) {
+      diff.remove(file);
+    }
+    return true;
+  }
+
+  private static Map<String, Set<EditorGroupRef>> unmodifiable(Map<String, Set<EditorGroupRef>> diff) {
+    Map<String, Set<EditorGroupRef>> result = new HashMap<>(diff.size());
+    diff.forEach((file, refs) -> result.put(file, Set.copyOf(refs)));
+    return Collections.unmodifiableMap(result);
+  }
+
+  @Override
+  public void dispose() {
+  }
+
+  record Snapshot(Map<String, List<EditorGroupRef>> groupsByFile, Map<String, Member> membersById) {
+    static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+  }
+
+  record Member(EditorGroupRef ref, Set<String> files) {
+  }
+
+  record Update(Snapshot snapshot, GroupMembershipDiff diff) {
+  }
+
+  sealed interface Change permits GroupChange, OwnerChanged, Cleared {
+  }
+
+  record GroupChange(EditorGroupRef ref, Set<String> files) implements Change {
+  }
+
+  record OwnerChanged(String ownerPath, Set<String> retainedIds) implements Change {
+    boolean isRemoved(EditorGroupRef ref) {
+      return ownerPath.equals(ref.ownerPath()) && !retainedIds.contains(ref.id());
+    }
+  }
+
+  record Cleared() implements Change {
+  }
+}
@@ -0,0 +1,14 @@
+package krasa.editorGroups.api;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes of group membership since the previous {@link GroupMembershipListener#membershipChanged}, keyed by file path.
+ * A group whose title changed is removed from its files and added again.
+ */
+public record GroupMembershipDiff(@NotNull Map<String, Set<EditorGroupRef>> added,
+                                  @NotNull Map<String, Set<EditorGroupRef>> removed) {
+}
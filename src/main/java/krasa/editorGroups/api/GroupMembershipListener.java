@@ -0,0 +1,14 @@
+package krasa.editorGroups.api;
+
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Project level topic, notified on a background thread after {@link EditorGroupsApi} published a new snapshot.
+ */
+public interface GroupMembershipListener {
+  @Topic.ProjectLevel
+  Topic<GroupMembershipListener> TOPIC = new Topic<>(GroupMembershipListener.class, Topic.BroadcastDirection.NONE);
+
+  void membershipChanged(@NotNull GroupMembershipDiff diff);
+}
@@ -24,6 +24,7 @@ public class SettingsForm {
   private JCheckBox showSize;
   private JCheckBox continuousScrolling;
   private JCheckBox initializeSynchronously;
+  private JCheckBox panelPerWindow;
   private JCheckBox indexOnlyEditorGroupsFileCheckBox;
   private JCheckBox excludeEGroups;
   private JCheckBox compactTabs;
@@ -36,6 +37,7 @@ public class SettingsForm {
   private JPanel modelsPanel;
   private JCheckBox selectRegexGroup;
   private JTextField groupSizeLimit;
+  private JTextField groupSizeHardLimit;
   private JTextField tabSizeLimit;
   private JCheckBox showPanel;
   private TabsColors tabsColors;
@@ -116,8 +118,10 @@ public class SettingsForm {
 
   public void setData(ApplicationConfiguration data) {
     initializeSynchronously.setSelected(data.isInitializeSynchronously());
+    panelPerWindow.setSelected(data.isPanelPerWindow());
     indexOnlyEditorGroupsFileCheckBox.setSelected(data.isIndexOnlyEditorGroupsFiles());
     groupSizeLimit.setText(data.getGroupSizeLimit());
+    groupSizeHardLimit.setText(data.getGroupSizeHardLimit());
     tabSizeLimit.setText(data.getTabSizeLimit());
     byName.setSelected(data.isAutoSameName());
     autoSwitch.setSelected(data.isForceSwitch());
@@ -135,8 +139,10 @@ public class SettingsForm {
 
   public void getData(ApplicationConfiguration data) {
     data.setInitializeSynchronously(initializeSynchronously.isSelected());
+    data.setPanelPerWindow(panelPerWindow.isSelected());
     data.setIndexOnlyEditorGroupsFiles(indexOnlyEditorGroupsFileCheckBox.isSelected());
     data.setGroupSizeLimit(groupSizeLimit.getText());
+    data.setGroupSizeHardLimit(groupSizeHardLimit.getText());
     data.setTabSizeLimit(tabSizeLimit.getText());
     data.setAutoSameName(byName.isSelected());
     data.setForceSwitch(autoSwitch.isSelected());
@@ -154,11 +160,14 @@ public class SettingsForm {
 
   public boolean isModified(ApplicationConfiguration data) {
     if (initializeSynchronously.isSelected() != data.isInitializeSynchronously()) return true;
+    if (panelPerWindow.isSelected() != data.isPanelPerWindow()) return true;
     if (indexOnlyEditorGroupsFileCheckBox.isSelected() != data.isIndexOnlyEditorGroupsFiles()) return true;
     if (groupSizeLimit.getText() != null ? !groupSizeLimit.getText().equals(data.getGroupSizeLimit()) : data.getGroupSizeLimit() != null)
       return true;
     if (tabSizeLimit.getText() != null ? !tabSizeLimit.getText().equals(data.getTabSizeLimit()) : data.getTabSizeLimit() != null)
       return true;
+    if (groupSizeHardLimit.getText() != null ? !groupSizeHardLimit.getText().equals(data.getGroupSizeHardLimit()) : data.getGroupSizeHardLimit() != null)
+      return true;
     if (byName.isSelected() != data.isAutoSameName()) return true;
     if (autoSwitch.isSelected() != data.isForceSwitch()) return true;
     if (byFolder.isSelected() != data.isAutoFolders()) return true;
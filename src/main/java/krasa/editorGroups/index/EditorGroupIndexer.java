@@ -1,15 +1,14 @@
 package krasa.editorGroups.index;
 
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.patterns.StringPattern;
 import com.intellij.util.indexing.DataIndexer;
 import com.intellij.util.indexing.FileContent;
 import krasa.editorGroups.ApplicationConfiguration;
-import krasa.editorGroups.IndexCache;
 import krasa.editorGroups.PanelRefresher;
+import krasa.editorGroups.jfr.IndexFileEvent;
 import krasa.editorGroups.language.EditorGroupsLanguage;
 import krasa.editorGroups.model.EditorGroupIndexValue;
 import krasa.editorGroups.support.Notifications;
@@ -51,6 +50,9 @@ public class EditorGroupIndexer implements DataIndexer<String, EditorGroupIndexV
     }
 
     String ownerPath = file.getPath();
+    IndexFileEvent event = new IndexFileEvent();
+    event.begin();
+    HashMap<String, EditorGroupIndexValue> map = new HashMap<>();
     try {
       File folder;
       try {
@@ -66,7 +68,6 @@ public class EditorGroupIndexer implements DataIndexer<String, EditorGroupIndexV
       EditorGroupIndexValue currentGroup = null;
       EditorGroupIndexValue lastGroup = null;
       int index = 0;
-      HashMap<String, EditorGroupIndexValue> map = new HashMap<>();
 
       String chars = inputData.getContentAsText().toString(); // matching strings is faster than HeapCharBuffer
       CharSequence input = StringPattern.newBombedCharSequence(chars);
@@ -88,15 +89,28 @@ public class EditorGroupIndexer implements DataIndexer<String, EditorGroupIndexV
       if (currentGroup != null) {
         add(inputData, ownerPath, currentGroup, index, map);
       }
+      PanelRefresher.getInstance(inputData.getProject()).onFileIndexed(ownerPath, map.values());
       return map;
     } catch (DisableException e) {
-      IndexCache.getInstance(inputData.getProject()).removeGroup(ownerPath);
+      PanelRefresher.getInstance(inputData.getProject()).onFileDisabled(ownerPath);
       return Collections.emptyMap();
     } catch (com.intellij.openapi.progress.ProcessCanceledException e) {
+      event.cancelled = true;
       throw e;
     } catch (Exception e) {
       LOG.error(e);
       return Collections.emptyMap();
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.file = ownerPath;
+        event.groupId = String.join(",", map.keySet());
+        for (EditorGroupIndexValue value : map.values()) {
+          event.linkCount += value.getRelatedPaths().size();
+        }
+        event.filesVisited = 1;
+        event.commit();
+      }
     }
   }
 
@@ -109,14 +123,6 @@ public class EditorGroupIndexer implements DataIndexer<String, EditorGroupIndexV
       lastGroup.setRoot(ownerPath);
     }
 
-    try {
-      lastGroup = PanelRefresher.getInstance(inputData.getProject()).onIndexingDone(ownerPath, lastGroup);
-    } catch (ProcessCanceledException e) {
-      LOG.debug(e);
-    } catch (Exception e) {
-      LOG.error(e);
-    }
-
     if (map.containsKey(lastGroup.getId())) {
       Notifications.indexingWarn(inputData.getProject(), inputData.getFile(), "Duplicate Group ID '" + lastGroup.getId() + "'");
     } else {
@@ -0,0 +1,75 @@
+package krasa.editorGroups.index;
+
+import com.intellij.openapi.vfs.newvfs.impl.VirtualFileSystemEntry;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lower-cased last extension of the file name, files without an extension are not indexed.
+ */
+public class FileExtensionIndex extends ScalarIndexExtension<String> {
+  public @NonNls
+  static final ID<String, Void> NAME = ID.create("krasa.FileExtensionIndex");
+
+  @NotNull
+  public static String toKey(@NotNull String extension) {
+    return extension.toLowerCase(Locale.ROOT);
+  }
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return new DataIndexer<>() {
+      @NotNull
+      @Override
+      public Map<String, Void> map(@NotNull FileContent inputData) {
+        String fileName = inputData.getFileName();
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+          return Collections.emptyMap();
+        }
+        return Collections.singletonMap(toKey(fileName.substring(dot + 1)), null);
+      }
+    };
+  }
+
+  @NotNull
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @NotNull
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return file -> file instanceof VirtualFileSystemEntry;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return false;
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @Override
+  public boolean traceKeyHashToVirtualFileMapping() {
+    return true;
+  }
+}
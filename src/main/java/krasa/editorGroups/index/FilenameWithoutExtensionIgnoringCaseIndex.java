@@ -0,0 +1,73 @@
+package krasa.editorGroups.index;
+
+import com.intellij.openapi.vfs.newvfs.impl.VirtualFileSystemEntry;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Same keys as {@link FilenameWithoutExtensionIndex} but lower-cased, for case-insensitive lookups without enumerating all keys.
+ */
+public class FilenameWithoutExtensionIgnoringCaseIndex extends ScalarIndexExtension<String> {
+  public @NonNls
+  static final ID<String, Void> NAME = ID.create("krasa.FilenameWithoutExtensionIgnoringCaseIndex");
+
+  @NotNull
+  public static String toKey(@NotNull String fileNameWithoutExtension) {
+    return fileNameWithoutExtension.toLowerCase(Locale.ROOT);
+  }
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return new DataIndexer<>() {
+      @NotNull
+      @Override
+      public Map<String, Void> map(@NotNull FileContent inputData) {
+        String fileName = inputData.getFileName();
+        String key = toKey(StringUtils.substringBefore(fileName, "."));
+        return Collections.singletonMap(key, null);
+      }
+    };
+  }
+
+  @NotNull
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @NotNull
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return file -> file instanceof VirtualFileSystemEntry;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return false;
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @Override
+  public boolean traceKeyHashToVirtualFileMapping() {
+    return true;
+  }
+}
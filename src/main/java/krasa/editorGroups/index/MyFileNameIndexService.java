@@ -30,6 +30,7 @@ import com.intellij.util.Processors;
 import com.intellij.util.SmartList;
 import com.intellij.util.indexing.FileBasedIndex;
 import com.intellij.util.indexing.IdFilter;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -119,20 +120,11 @@ public class MyFileNameIndexService {
                                                                     @NotNull final GlobalSearchScope scope,
                                                                     @NotNull Project project,
                                                                     @Nullable final IdFilter idFilter) {
-    final Set<String> keys = new HashSet<>();
-    MyFileNameIndexService myFileNameIndexService = getService();
-    myFileNameIndexService.processAllFileNames(value -> {
-      if (name.equalsIgnoreCase(value)) {
-        keys.add(value);
-      }
+    final Set<VirtualFile> files = new HashSet<>();
+    FileBasedIndex.getInstance().processValues(FilenameWithoutExtensionIgnoringCaseIndex.NAME, FilenameWithoutExtensionIgnoringCaseIndex.toKey(name), null, (file, value) -> {
+      files.add(file);
       return true;
     }, scope, idFilter);
-
-    // values accessed outside of processAllKeys
-    final Set<VirtualFile> files = new HashSet<>();
-    for (String each : keys) {
-      files.addAll(myFileNameIndexService.getVirtualFilesByName(project, each, scope, idFilter));
-    }
     return files;
   }
 
@@ -171,16 +163,18 @@ public class MyFileNameIndexService {
 
     if (len == 0) return Collections.emptyList();
 
-    ext = "." + ext;
-    len++;
+    String suffix = "." + ext;
+    String key = FileExtensionIndex.toKey(StringUtils.substringAfterLast(suffix, "."));
 
     final List<VirtualFile> files = new ArrayList<>();
-    for (String name : getAllFilenames(project)) {
-      final int length = name.length();
-      if (length > len && name.substring(length - len).equalsIgnoreCase(ext)) {
-        files.addAll(getVirtualFilesByName(project, name, searchScope));
+    FileBasedIndex.getInstance().processValues(FileExtensionIndex.NAME, key, null, (file, value) -> {
+      String name = file.getName();
+      // multi-part extensions like "tar.gz" and names like ".gitignore"
+      if (name.length() > suffix.length() && StringUtils.endsWithIgnoreCase(name, suffix)) {
+        files.add(file);
       }
-    }
+      return true;
+    }, searchScope);
     return files;
   }
 
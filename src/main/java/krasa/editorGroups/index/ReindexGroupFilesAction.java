@@ -0,0 +1,77 @@
+package krasa.editorGroups.index;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import krasa.editorGroups.IndexCache;
+import krasa.editorGroups.language.EditorGroupsFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reindexes only files which define groups and .egroups files, unlike {@link ReindexAction} which rebuilds the whole
+ * index.
+ */
+public class ReindexGroupFilesAction extends AnAction implements DumbAware {
+  private static final Logger LOG = Logger.getInstance(ReindexGroupFilesAction.class);
+
+  @Override
+  public void actionPerformed(@NotNull AnActionEvent e) {
+    Project project = e.getProject();
+    if (project == null) {
+      return;
+    }
+    ProgressManager.getInstance().run(new Task.Backgroundable(project, "Reindexing Editor Groups files", true) {
+      @Override
+      public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting files with groups");
+        Set<VirtualFile> files = ReadAction.nonBlocking(() -> getGroupFiles(project, indicator))
+          .inSmartMode(project)
+          .wrapProgress(indicator)
+          .executeSynchronously();
+
+        if (LOG.isDebugEnabled()) LOG.debug("reindexing " + files.size() + " files");
+        indicator.setIndeterminate(false);
+        indicator.setText("Reindexing Editor Groups files");
+        IndexCache cache = IndexCache.getInstance(project);
+        FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+        int i = 0;
+        for (VirtualFile file : files) {
+          indicator.checkCanceled();
+          indicator.setFraction((double) i++ / files.size());
+          indicator.setText2(file.getPresentableUrl());
+          cache.forgetGroups(file.getPath());
+          fileBasedIndex.requestReindex(file);
+        }
+      }
+    });
+  }
+
+  @NotNull
+  private static Set<VirtualFile> getGroupFiles(@NotNull Project project, @NotNull ProgressIndicator indicator) {
+    GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+
+    Set<VirtualFile> files = new LinkedHashSet<>(FileTypeIndex.getFiles(EditorGroupsFileType.EDITOR_GROUPS_FILE_TYPE, scope));
+    Collection<String> keys = fileBasedIndex.getAllKeys(EditorGroupIndex.NAME, project);
+    for (String key : keys) {
+      indicator.checkCanceled();
+      files.addAll(fileBasedIndex.getContainingFiles(EditorGroupIndex.NAME, key, scope));
+    }
+    return files;
+  }
+}
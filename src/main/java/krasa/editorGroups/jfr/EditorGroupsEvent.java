@@ -0,0 +1,41 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base for all Java Flight Recorder events emitted by the plugin.
+ * <p>
+ * Usage: {@code begin()} before the work, {@link #finish} after it. When no recording is running, JFR keeps the event
+ * class uninstrumented, {@code begin()}/{@code end()} are no-ops and {@link #shouldCommit()} is false.
+ * If computing a field is not free (string concatenation, iteration), call {@code end()} and fill the fields only
+ * when {@code shouldCommit()} returns true.
+ */
+@Category("Editor Groups")
+@StackTrace(false)
+public abstract class EditorGroupsEvent extends Event {
+
+  @Label("Group ID")
+  public String groupId;
+
+  @Label("Link Count")
+  public int linkCount;
+
+  @Label("Files Visited")
+  public int filesVisited;
+
+  @Label("Cancelled")
+  public boolean cancelled;
+
+  public void finish(String groupId, int linkCount, int filesVisited) {
+    end();
+    if (shouldCommit()) {
+      this.groupId = groupId;
+      this.linkCount = linkCount;
+      this.filesVisited = filesVisited;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.IndexFile")
+@Label("Index File")
+@Description("EditorGroupIndexer.map - parsing of a single file for group definitions")
+public class IndexFileEvent extends EditorGroupsEvent {
+
+  @Label("File")
+  public String file;
+}
@@ -0,0 +1,11 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.InitGroup")
+@Label("Init Group")
+@Description("IndexCache.initGroup - resolving and caching an indexed group")
+public class InitGroupEvent extends EditorGroupsEvent {
+}
@@ -0,0 +1,11 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.RenderPanel")
+@Label("Render Panel")
+@Description("EditorGroupPanel - rebuilding of the tabs on EDT")
+public class RenderPanelEvent extends EditorGroupsEvent {
+}
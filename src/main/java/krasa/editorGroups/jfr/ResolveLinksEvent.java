@@ -0,0 +1,11 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.ResolveLinks")
+@Label("Resolve Links")
+@Description("FileResolver - resolution of a group definition into files")
+public class ResolveLinksEvent extends EditorGroupsEvent {
+}
@@ -0,0 +1,11 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.ResolveRegexGroup")
+@Label("Resolve Regex Group")
+@Description("RegexFileResolver - file system walk for a regex or folder group")
+public class ResolveRegexGroupEvent extends EditorGroupsEvent {
+}
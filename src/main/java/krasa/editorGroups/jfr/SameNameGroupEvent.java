@@ -0,0 +1,11 @@
+package krasa.editorGroups.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("krasa.editorGroups.SameNameGroup")
+@Label("Same Name Group")
+@Description("AutoGroupProvider - index lookup of files with the same name")
+public class SameNameGroupEvent extends EditorGroupsEvent {
+}
@@ -0,0 +1,158 @@
+package krasa.editorGroups.language;
+
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import krasa.editorGroups.language.annotator.LanguagePatternHolder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Highlighting lexer, recognizes the same tokens as the former regex based annotator: {@code @group.*} keywords and
+ * metadata anywhere, whole word macros and whole word colors (ignoring case). Everything else is text.
+ * <p>
+ * Stateless, so the editor can restart it at any token start and only relexes the changed lines.
+ */
+public class EditorGroupsLexer extends LexerBase {
+  private static final Set<String> COLORS = LanguagePatternHolder.colors.stream()
+    .map(s -> s.toLowerCase(Locale.ROOT))
+    .collect(Collectors.toSet());
+
+  private CharSequence buffer;
+  private int bufferEnd;
+  private int tokenStart;
+  private int tokenEnd;
+  @Nullable
+  private IElementType tokenType;
+
+  @Override
+  public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+    this.buffer = buffer;
+    this.bufferEnd = endOffset;
+    this.tokenEnd = startOffset;
+    advance();
+  }
+
+  @Override
+  public int getState() {
+    return 0;
+  }
+
+  @Override
+  @Nullable
+  public IElementType getTokenType() {
+    return tokenType;
+  }
+
+  @Override
+  public int getTokenStart() {
+    return tokenStart;
+  }
+
+  @Override
+  public int getTokenEnd() {
+    return tokenEnd;
+  }
+
+  @Override
+  public void advance() {
+    tokenStart = tokenEnd;
+    if (tokenStart >= bufferEnd) {
+      tokenType = null;
+      return;
+    }
+
+    char c = buffer.charAt(tokenStart);
+    if (Character.isWhitespace(c)) {
+      tokenEnd = skipWhile(tokenStart, true);
+      tokenType = EditorGroupsTokenTypes.WHITE_SPACE;
+    } else if (c == '@') {
+      int end;
+      if ((end = matchAnnotation(LanguagePatternHolder.keywords)) > 0) {
+        tokenEnd = end;
+        tokenType = EditorGroupsTokenTypes.KEYWORD;
+      } else if ((end = matchAnnotation(LanguagePatternHolder.metadata)) > 0) {
+        tokenEnd = end;
+        tokenType = EditorGroupsTokenTypes.METADATA;
+      } else {
+        tokenEnd = tokenStart + 1;
+        tokenType = EditorGroupsTokenTypes.TEXT;
+      }
+    } else if (isWordChar(c)) {
+      tokenEnd = skipWhile(tokenStart, false);
+      String word = buffer.subSequence(tokenStart, tokenEnd).toString();
+      if (LanguagePatternHolder.macros.contains(word)) {
+        tokenType = EditorGroupsTokenTypes.MACRO;
+      } else if (COLORS.contains(word.toLowerCase(Locale.ROOT))) {
+        tokenType = EditorGroupsTokenTypes.COLOR;
+      } else {
+        tokenType = EditorGroupsTokenTypes.TEXT;
+      }
+    } else {
+      int end = tokenStart + 1;
+      while (end < bufferEnd) {
+        char next = buffer.charAt(end);
+        if (next == '@' || isWordChar(next) || Character.isWhitespace(next)) {
+          break;
+        }
+        end++;
+      }
+      tokenEnd = end;
+      tokenType = EditorGroupsTokenTypes.TEXT;
+    }
+  }
+
+  /**
+   * @return end offset of {@code @token} followed by a word boundary, or -1
+   */
+  private int matchAnnotation(Collection<String> tokens) {
+    for (String token : tokens) {
+      int end = tokenStart + 1 + token.length();
+      if (end <= bufferEnd
+        && regionMatches(tokenStart + 1, token)
+        && (end == bufferEnd || !isWordChar(buffer.charAt(end)))) {
+        return end;
+      }
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(int offset, String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (buffer.charAt(offset + i) != s.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int skipWhile(int offset, boolean whitespace) {
+    while (offset < bufferEnd) {
+      char c = buffer.charAt(offset);
+      if (whitespace ? !Character.isWhitespace(c) : !isWordChar(c)) {
+        break;
+      }
+      offset++;
+    }
+    return offset;
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  @Override
+  @NotNull
+  public CharSequence getBufferSequence() {
+    return buffer;
+  }
+
+  @Override
+  public int getBufferEnd() {
+    return bufferEnd;
+  }
+}
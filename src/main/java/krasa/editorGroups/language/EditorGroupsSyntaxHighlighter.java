@@ -0,0 +1,40 @@
+package krasa.editorGroups.language;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
+
+public class EditorGroupsSyntaxHighlighter extends SyntaxHighlighterBase {
+  public static final TextAttributesKey KEYWORD = createTextAttributesKey("EDITOR_GROUPS_KEYWORD", DefaultLanguageHighlighterColors.KEYWORD);
+  public static final TextAttributesKey METADATA = createTextAttributesKey("EDITOR_GROUPS_METADATA", DefaultLanguageHighlighterColors.METADATA);
+  public static final TextAttributesKey MACRO = createTextAttributesKey("EDITOR_GROUPS_MACRO", DefaultLanguageHighlighterColors.STATIC_METHOD);
+  public static final TextAttributesKey COLOR = createTextAttributesKey("EDITOR_GROUPS_COLOR", DefaultLanguageHighlighterColors.STATIC_FIELD);
+
+  private static final Map<IElementType, TextAttributesKey> ATTRIBUTES = new HashMap<>();
+
+  static {
+    ATTRIBUTES.put(EditorGroupsTokenTypes.KEYWORD, KEYWORD);
+    ATTRIBUTES.put(EditorGroupsTokenTypes.METADATA, METADATA);
+    ATTRIBUTES.put(EditorGroupsTokenTypes.MACRO, MACRO);
+    ATTRIBUTES.put(EditorGroupsTokenTypes.COLOR, COLOR);
+  }
+
+  @Override
+  @NotNull
+  public Lexer getHighlightingLexer() {
+    return new EditorGroupsLexer();
+  }
+
+  @Override
+  public TextAttributesKey @NotNull [] getTokenHighlights(IElementType tokenType) {
+    return pack(ATTRIBUTES.get(tokenType));
+  }
+}
@@ -0,0 +1,13 @@
+package krasa.editorGroups.language;
+
+import com.intellij.openapi.fileTypes.SingleLazyInstanceSyntaxHighlighterFactory;
+import com.intellij.openapi.fileTypes.SyntaxHighlighter;
+import org.jetbrains.annotations.NotNull;
+
+public class EditorGroupsSyntaxHighlighterFactory extends SingleLazyInstanceSyntaxHighlighterFactory {
+  @Override
+  @NotNull
+  protected SyntaxHighlighter createHighlighter() {
+    return new EditorGroupsSyntaxHighlighter();
+  }
+}
@@ -0,0 +1,13 @@
+package krasa.editorGroups.language;
+
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+
+public interface EditorGroupsTokenTypes {
+  IElementType KEYWORD = new IElementType("KEYWORD", EditorGroupsLanguage.INSTANCE);
+  IElementType METADATA = new IElementType("METADATA", EditorGroupsLanguage.INSTANCE);
+  IElementType MACRO = new IElementType("MACRO", EditorGroupsLanguage.INSTANCE);
+  IElementType COLOR = new IElementType("COLOR", EditorGroupsLanguage.INSTANCE);
+  IElementType TEXT = new IElementType("TEXT", EditorGroupsLanguage.INSTANCE);
+  IElementType WHITE_SPACE = TokenType.WHITE_SPACE;
+}
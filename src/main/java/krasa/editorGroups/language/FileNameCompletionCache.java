@@ -0,0 +1,138 @@
+package krasa.editorGroups.language;
+
+import com.intellij.navigation.ChooseByNameContributor;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * File names for path completion, sorted by lower-cased name so that a prefix query is a range lookup instead of a scan
+ * over all names. Built lazily on first use, new names are added from VFS events, deleted names are only counted and
+ * the whole cache is dropped once too many of them pile up (or when indexing finishes).
+ */
+public class FileNameCompletionCache {
+  private static final Logger LOG = Logger.getInstance(FileNameCompletionCache.class);
+
+  private static final int MIN_STALE_NAMES_TO_REBUILD = 1000;
+
+  @NotNull
+  private final Project project;
+  /**
+   * lower-cased name -> names as they are on disk
+   */
+  private TreeMap<String, Set<String>> names;
+  private int staleNames;
+
+  public static FileNameCompletionCache getInstance(@NotNull Project project) {
+    return project.getService(FileNameCompletionCache.class);
+  }
+
+  public FileNameCompletionCache(@NotNull Project project) {
+    this.project = project;
+    project.getMessageBus().connect(project).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+        for (VFileEvent event : events) {
+          if (event instanceof VFileCreateEvent) {
+            added(((VFileCreateEvent) event).getChildName());
+          } else if (event instanceof VFileCopyEvent) {
+            added(((VFileCopyEvent) event).getNewChildName());
+          } else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+            added((String) ((VFilePropertyChangeEvent) event).getNewValue());
+            removed();
+          } else if (event instanceof VFileDeleteEvent) {
+            removed();
+          }
+        }
+      }
+    });
+    project.getMessageBus().connect(project).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+      @Override
+      public void enteredDumbMode() {
+      }
+
+      @Override
+      public void exitDumbMode() {
+        clear();
+      }
+    });
+  }
+
+  /**
+   * @return names starting with the prefix ignoring case, in lower-cased order
+   */
+  @NotNull
+  public List<String> getNamesStartingWith(@NotNull String prefix) {
+    String from = prefix.toLowerCase(Locale.ROOT);
+    NavigableMap<String, Set<String>> map = getNames();
+    List<String> result = new ArrayList<>();
+    synchronized (this) {
+      SortedMap<String, Set<String>> range = from.isEmpty() ? map : map.subMap(from, from + Character.MAX_VALUE);
+      for (Set<String> value : range.values()) {
+        result.addAll(value);
+      }
+    }
+    return result;
+  }
+
+  public synchronized void clear() {
+    names = null;
+    staleNames = 0;
+  }
+
+  /**
+   * Builds outside of the lock, contributors can be slow and a concurrent build only wastes time.
+   */
+  @NotNull
+  private NavigableMap<String, Set<String>> getNames() {
+    synchronized (this) {
+      if (names != null) {
+        return names;
+      }
+    }
+    TreeMap<String, Set<String>> map = new TreeMap<>();
+    for (final ChooseByNameContributor contributor : ChooseByNameContributor.FILE_EP_NAME.getExtensions()) {
+      try {
+        for (String name : contributor.getNames(project, false)) {
+          ProgressManager.checkCanceled();
+          add(map, name);
+        }
+      } catch (ProcessCanceledException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        LOG.error(ex);
+      }
+    }
+    synchronized (this) {
+      if (names == null) {
+        names = map;
+        staleNames = 0;
+      }
+      return names;
+    }
+  }
+
+  private synchronized void added(String name) {
+    if (names != null && name != null) {
+      add(names, name);
+    }
+  }
+
+  private synchronized void removed() {
+    if (names != null && ++staleNames > Math.max(MIN_STALE_NAMES_TO_REBUILD, names.size() / 10)) {
+      names = null;
+    }
+  }
+
+  private static void add(Map<String, Set<String>> map, String name) {
+    map.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new HashSet<>(1)).add(name);
+  }
+}
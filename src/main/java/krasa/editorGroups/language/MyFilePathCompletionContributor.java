@@ -1,10 +1,8 @@
 package krasa.editorGroups.language;
 
-import com.google.common.collect.ObjectArrays;
 import com.intellij.codeInsight.completion.*;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementPresentation;
-import com.intellij.navigation.ChooseByNameContributor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
@@ -12,7 +10,6 @@ import com.intellij.openapi.fileTypes.FileNameMatcher;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
@@ -26,6 +23,7 @@ import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileInfoManager;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileReferenceHelper;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileReferenceHelperRegistrar;
@@ -33,9 +31,7 @@ import com.intellij.psi.impl.source.resolve.reference.impl.providers.PsiFileSyst
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.ProjectScope;
-import com.intellij.util.ArrayUtil;
 import com.intellij.util.ProcessingContext;
-import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -49,6 +45,10 @@ import static com.intellij.patterns.PlatformPatterns.psiElement;
 /* @group.disable */
 public class MyFilePathCompletionContributor extends CompletionContributor {
   private static final Logger LOG = getInstance(MyFilePathCompletionContributor.class);
+  /**
+   * files resolved and shown at most, matches past it would only be scrolled over, typing more narrows them down
+   */
+  private static final int MAX_RESULTS = 200;
 
   public MyFilePathCompletionContributor() {
     CompletionProvider<CompletionParameters> provider = new CompletionProvider<>() {
@@ -107,33 +107,39 @@ public class MyFilePathCompletionContributor extends CompletionContributor {
         final PsiFile originalFile = parameters.getOriginalFile();
         final VirtualFile contextFile = originalFile.getVirtualFile();
         if (contextFile != null) {
-          final String[] fileNames = getAllNames(project);
-          final Set<String> resultNames = new TreeSet<>();
-          for (String fileName : fileNames) {
-            if (filenameMatchesPrefixOrType(fileName, prefix, parameters.getInvocationCount())) {
-              resultNames.add(fileName);
-            }
-          }
-
           final ProjectFileIndex index = ProjectRootManager.getInstance(project).getFileIndex();
 
           final Module contextModule = index.getModuleForFile(contextFile);
           if (contextModule != null) {
             final List<FileReferenceHelper> helpers = FileReferenceHelperRegistrar.getHelpers(originalFile);
+            final PsiManager psiManager = PsiManager.getInstance(project);
 
             final GlobalSearchScope scope = ProjectScope.getProjectScope(project);
-            for (final String name : resultNames) {
+            int added = 0;
+            // files of one directory share the result of the path prefix check
+            final Map<VirtualFile, Boolean> parentMatches = new HashMap<>();
+            names:
+            for (final String name : FileNameCompletionCache.getInstance(project).getNamesStartingWith(prefix)) {
               ProgressManager.checkCanceled();
+              if (!filenameMatchesPrefixOrType(name, prefix, parameters.getInvocationCount())) {
+                continue;
+              }
 
-              PsiFileSystemItem[] folders = FilenameIndex.getFilesByName(project, name, scope, true);
-              PsiFileSystemItem[] files = FilenameIndex.getFilesByName(project, name, scope, false);
-              PsiFileSystemItem[] concat = ObjectArrays.concat(folders, files, PsiFileSystemItem.class);
-
-              for (final PsiFileSystemItem file : concat) {
+              for (final VirtualFile virtualFile : FilenameIndex.getVirtualFilesByName(name, scope)) {
                 ProgressManager.checkCanceled();
 
-                final VirtualFile virtualFile = file.getVirtualFile();
-                if (virtualFile == null || !virtualFile.isValid() || Comparing.equal(virtualFile, contextFile)) {
+                if (!virtualFile.isValid() || Comparing.equal(virtualFile, contextFile)) {
+                  continue;
+                }
+                if (pathPrefixParts != null) {
+                  final List<String> parts = pathPrefixParts;
+                  VirtualFile parent = virtualFile.getParent();
+                  if (parent == null || !parentMatches.computeIfAbsent(parent, p -> parentMatchesPathPrefix(p, parts))) {
+                    continue;
+                  }
+                }
+                final PsiFileSystemItem file = virtualFile.isDirectory() ? psiManager.findDirectory(virtualFile) : psiManager.findFile(virtualFile);
+                if (file == null) {
                   continue;
                 }
                 List<FileReferenceHelper> helperList = new ArrayList<>();
@@ -141,14 +147,14 @@ public class MyFilePathCompletionContributor extends CompletionContributor {
                   ProgressManager.checkCanceled();
 
                   if (contextHelper.isMine(project, virtualFile)) {
-                    if (pathPrefixParts == null ||
-                      fileMatchesPathPrefix(contextHelper.getPsiFileSystemItem(project, virtualFile), pathPrefixParts)) {
-                      helperList.add(contextHelper);
-                    }
+                    helperList.add(contextHelper);
                   }
                 }
                 if (!helperList.isEmpty()) {
                   __result.addElement(new FilePathLookupItem(parameters.getOriginalFile(), file, macro, moduleForFile, helperList));
+                  if (++added >= MAX_RESULTS || __result.isStopped()) {
+                    break names;
+                  }
                 }
               }
             }
@@ -179,18 +185,11 @@ public class MyFilePathCompletionContributor extends CompletionContributor {
     return false;
   }
 
-  private static boolean fileMatchesPathPrefix(@Nullable final PsiFileSystemItem file, @NotNull final List<String> pathPrefix) {
-    if (file == null) return false;
-
-    final List<String> contextParts = new ArrayList<>();
-    PsiFileSystemItem parentFile = file;
-    PsiFileSystemItem parent;
-    while ((parent = parentFile.getParent()) != null) {
-      if (!parent.getName().isEmpty()) contextParts.add(0, parent.getName().toLowerCase());
-      parentFile = parent;
-    }
-
-    final String path = StringUtil.join(contextParts, "/");
+  /**
+   * Matches the segments in order against the parent path, same as walking the PSI parents but without creating PSI.
+   */
+  private static boolean parentMatchesPathPrefix(@NotNull final VirtualFile parent, @NotNull final List<String> pathPrefix) {
+    final String path = StringUtil.trimStart(parent.getPath(), "/").toLowerCase();
 
     int nextIndex = 0;
     for (@NonNls final String s : pathPrefix) {
@@ -203,23 +202,6 @@ public class MyFilePathCompletionContributor extends CompletionContributor {
     return true;
   }
 
-  private static String[] getAllNames(@NotNull final Project project) {
-    Set<String> names = new HashSet<>();
-    final ChooseByNameContributor[] nameContributors = ChooseByNameContributor.FILE_EP_NAME.getExtensions();
-    for (final ChooseByNameContributor contributor : nameContributors) {
-      try {
-        ContainerUtil.addAll(names, contributor.getNames(project, false));
-      } catch (ProcessCanceledException ex) {
-        // index corruption detected, ignore
-      } catch (Exception ex) {
-        LOG.error(ex);
-      }
-    }
-
-    return ArrayUtil.toStringArray(names);
-  }
-
-
   public static class FilePathLookupItem extends LookupElement {
     private final PsiFile originalFile;
     private final String myName;
@@ -1,17 +1,14 @@
 package krasa.editorGroups.language.annotator;
 
-import com.google.common.base.Function;
-import com.google.common.base.Joiner;
-import com.google.common.collect.Collections2;
 import krasa.editorGroups.support.Utils;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 public enum LanguagePatternHolder {
   INSTANCE;
   /**
    * @see krasa.editorGroups.index.EditorGroupIndexer
+   * @see krasa.editorGroups.language.EditorGroupsLexer
    */
   public static final Collection<String> keywords = Arrays.asList(
     "group.root",
@@ -56,26 +53,4 @@ public enum LanguagePatternHolder {
     "PROJECT",
     "MODULE"
   );
-
-  public static final Pattern keywordsPattern = createPattern(keywords, "[@]", true);
-  public static final Pattern colorPattern = createPattern(colors, "", false);
-  public static final Pattern metadataPattern = createPattern(metadata, "[@]", true);
-  public static final Pattern macrosPattern = createPattern(macros, "", true);
-
-  private static Pattern createPattern(Collection<String> tokens, final String patternPrefix, boolean caseSensitive) {
-    Collection<String> tokensAsWords = Collections2.transform(tokens, new Function<>() {
-      @Override
-      public String apply(String s) {
-        return "\\b" + s + "\\b";
-      }
-    });
-
-    if (caseSensitive) {
-      return Pattern.compile("(" + patternPrefix + Joiner.on("|").join(tokensAsWords) + ")");
-    } else {
-      return Pattern.compile("(?i:" + patternPrefix + Joiner.on("|").join(tokensAsWords) + ")");
-    }
-  }
-
-
 }
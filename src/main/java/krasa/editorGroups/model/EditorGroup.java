@@ -165,6 +165,20 @@ public abstract class EditorGroup {
     this.stub = stub;
   }
 
+  /**
+   * Links are still being resolved, {@link #getLinks} returns the ones found so far, not sorted yet.
+   */
+  public boolean isResolving() {
+    return false;
+  }
+
+  /**
+   * Changes whenever the links of this instance are replaced, used to invalidate derived data like tab titles.
+   */
+  public int getContentVersion() {
+    return 0;
+  }
+
   public boolean isSelected(EditorGroup groupLink) {
     return this.equals(groupLink);
   }
@@ -27,6 +27,9 @@ public class EditorGroupIndexValue extends EditorGroup {
 
   /*runtime data*/
   private transient volatile List<Link> links;
+  private transient volatile int contentVersion;
+  private transient volatile long validatedIndexStamp = -1;
+  private transient volatile boolean resolving;
   private transient volatile boolean valid = true;
   private transient volatile Color bgColorInstance = null;
   private transient volatile Color fgColorInstance = null;
@@ -184,9 +187,50 @@ public class EditorGroupIndexValue extends EditorGroup {
 
   public EditorGroupIndexValue setLinks(List<Link> links) {
     this.links = links;
+    contentVersion++;
     return this;
   }
 
+  @Override
+  public int getContentVersion() {
+    return contentVersion;
+  }
+
+  /**
+   * @return EditorGroupIndex modification stamp at which this value was last found in the index, -1 if never
+   */
+  public long getValidatedIndexStamp() {
+    return validatedIndexStamp;
+  }
+
+  public void setValidatedIndexStamp(long validatedIndexStamp) {
+    this.validatedIndexStamp = validatedIndexStamp;
+  }
+
+  @Override
+  public boolean isResolving() {
+    return resolving;
+  }
+
+  public void setResolving(boolean resolving) {
+    this.resolving = resolving;
+  }
+
+  /**
+   * @return a resolving copy with the given links, for panels, this instance is not modified until it is fully resolved
+   */
+  public EditorGroupIndexValue partialCopy(List<Link> links) {
+    EditorGroupIndexValue copy = new EditorGroupIndexValue(id, title, valid);
+    copy.ownerPath = ownerPath;
+    copy.root = root;
+    copy.backgroundColor = backgroundColor;
+    copy.foregroundColor = foregroundColor;
+    copy.relatedPaths.addAll(relatedPaths);
+    copy.links = links;
+    copy.resolving = true;
+    return copy;
+  }
+
   /**
    * FOR INDEX STORE
    */
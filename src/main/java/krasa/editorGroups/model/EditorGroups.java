@@ -12,7 +12,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class EditorGroups extends EditorGroup implements GroupsHolder {
 
   private final Map<String, EditorGroup> map = new ConcurrentHashMap<>();
-  private String last;
 
   public EditorGroups() {
   }
@@ -112,14 +111,6 @@ public class EditorGroups extends EditorGroup implements GroupsHolder {
     return false;
   }
 
-  public void setLast(String last) {
-    this.last = last;
-  }
-
-  public String getLast() {
-    return last;
-  }
-
   public void validate(IndexCache indexCache) {
     Iterator<EditorGroup> iterator = map.values().iterator();
     while (iterator.hasNext()) {
@@ -174,7 +165,6 @@ public class EditorGroups extends EditorGroup implements GroupsHolder {
   public String toString() {
     return "EditorGroups{" +
       "map=" + map +
-      ", last='" + last + '\'' +
       '}';
   }
 }
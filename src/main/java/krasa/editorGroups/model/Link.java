@@ -37,21 +37,37 @@ public abstract class Link {
   }
 
   public static List<Link> from(Collection<String> links, Project project) {
-    ArrayList<Link> links1 = new ArrayList<>();
+    List<Link> links1 = fromUnsorted(links, project);
+    links1.sort(LinkComparator.INSTANCE);
+    return links1;
+  }
+
+  /**
+   * keeps the iteration order, for links of a group that is still being resolved
+   */
+  public static List<Link> fromUnsorted(Collection<String> links, Project project) {
+    ArrayList<Link> links1 = new ArrayList<>(links.size());
     for (String link : links) {
       links1.add(new PathLink(link, project));
     }
-    links1.sort(LinkComparator.INSTANCE);
     return links1;
   }
 
 
   public static List<Link> fromVirtualFiles(Collection<VirtualFile> links, Project project) {
-    ArrayList<Link> links1 = new ArrayList<>();
+    List<Link> links1 = fromVirtualFilesUnsorted(links, project);
+    links1.sort(LinkComparator.INSTANCE);
+    return links1;
+  }
+
+  /**
+   * keeps the iteration order, for links of a group that is still being resolved
+   */
+  public static List<Link> fromVirtualFilesUnsorted(Collection<VirtualFile> links, Project project) {
+    ArrayList<Link> links1 = new ArrayList<>(links.size());
     for (VirtualFile link : links) {
       links1.add(new VirtualFileLink(link, project));
     }
-    links1.sort(LinkComparator.INSTANCE);
     return links1;
   }
 
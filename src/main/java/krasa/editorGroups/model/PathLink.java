@@ -3,6 +3,7 @@ package krasa.editorGroups.model;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -12,6 +13,8 @@ public class PathLink extends Link {
   private static final Logger LOG = com.intellij.openapi.diagnostic.Logger.getInstance(PathLink.class);
   @NotNull
   private final String path;
+  @Nullable
+  private volatile VirtualFile virtualFile;
 
   public PathLink(@NotNull String path, Project project) {
     super(project);
@@ -31,6 +34,20 @@ public class PathLink extends Link {
     return path;
   }
 
+  /**
+   * cached while it is valid and still at the path, resolving it checks the disk, see {@link krasa.editorGroups.LinkPrefetcher}
+   */
+  @Nullable
+  @Override
+  public VirtualFile getVirtualFile() {
+    VirtualFile file = virtualFile;
+    if (file == null || !file.isValid() || !file.getPath().equals(path)) {
+      file = super.getVirtualFile();
+      virtualFile = file;
+    }
+    return file;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -0,0 +1,109 @@
+package krasa.editorGroups.support;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.psi.search.GlobalSearchScope;
+import krasa.editorGroups.model.EditorGroup;
+import krasa.editorGroups.model.Link;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Files of a group as a search scope. The ids of the files are collected on the first {@link #contains} into a sorted
+ * array, so scopes offered but never used cost nothing and a lookup does not depend on the id range.
+ */
+public class EditorGroupSearchScope extends GlobalSearchScope {
+
+  @NotNull
+  private final String displayName;
+  @NotNull
+  private final EditorGroup group;
+  @Nullable
+  private volatile int[] fileIds;
+
+  private EditorGroupSearchScope(@NotNull Project project, @NotNull String displayName, @NotNull EditorGroup group) {
+    super(project);
+    this.displayName = displayName;
+    this.group = group;
+  }
+
+  @NotNull
+  public static EditorGroupSearchScope create(@NotNull Project project, @NotNull EditorGroup group, @NotNull String displayName) {
+    return new EditorGroupSearchScope(project, displayName, group);
+  }
+
+  @Override
+  public boolean contains(@NotNull VirtualFile file) {
+    if (file instanceof VirtualFileWithId) {
+      int id = ((VirtualFileWithId) file).getId();
+      return id > 0 && Arrays.binarySearch(getFileIds(), id) >= 0;
+    }
+    return false;
+  }
+
+  @NotNull
+  private int[] getFileIds() {
+    int[] ids = fileIds;
+    if (ids == null) {
+      List<Link> links = group.getLinks(Objects.requireNonNull(getProject()));
+      ids = new int[links.size()];
+      int size = 0;
+      for (Link link : links) {
+        VirtualFile file = link.getVirtualFile();
+        if (file instanceof VirtualFileWithId) {
+          int id = ((VirtualFileWithId) file).getId();
+          if (id > 0) {
+            ids[size++] = id;
+          }
+        }
+      }
+      ids = Arrays.copyOf(ids, size);
+      Arrays.sort(ids);
+      fileIds = ids;
+    }
+    return ids;
+  }
+
+  @Override
+  public boolean isSearchInModuleContent(@NotNull Module aModule) {
+    return true;
+  }
+
+  @Override
+  public boolean isSearchInLibraries() {
+    return true;
+  }
+
+  @NotNull
+  @Override
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    EditorGroupSearchScope that = (EditorGroupSearchScope) o;
+
+    return Objects.equals(getProject(), that.getProject()) && displayName.equals(that.displayName)
+      && group.getId().equals(that.group.getId()) && group.getContentVersion() == that.group.getContentVersion();
+  }
+
+  @Override
+  public int calcHashCode() {
+    return 31 * displayName.hashCode() + group.getId().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "EditorGroupSearchScope{" + displayName + ", group=" + group.getId() + "}";
+  }
+}
@@ -0,0 +1,110 @@
+package krasa.editorGroups.support;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Iconable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.LayeredIcon;
+import com.intellij.util.IconUtil;
+import com.intellij.util.ObjectUtils;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.containers.CollectionFactory;
+import krasa.editorGroups.model.Link;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * File icons for tabs. {@link IconUtil#computeFileIcon} asks icon providers and PSI, so it runs in background. Until it
+ * is done, tabs show the icon of the file type, cached by file type and read-only status.
+ */
+public class FileIconCache {
+
+  @NotNull
+  private final Project project;
+  private final Map<TypeKey, Icon> typeIcons = new ConcurrentHashMap<>();
+  /**
+   * icons from providers, valid while the file type, read-only status and content of the file do not change
+   */
+  private final Map<VirtualFile, FileIcon> fileIcons = CollectionFactory.createConcurrentWeakMap();
+  private final ExecutorService executor;
+
+  public static FileIconCache getInstance(@NotNull Project project) {
+    return project.getService(FileIconCache.class);
+  }
+
+  public FileIconCache(@NotNull Project project) {
+    this.project = project;
+    executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Krasa.editorGroups.FileIconCache-" + project.getName(), 1);
+  }
+
+  /**
+   * @param onReady called on EDT with the icon from providers, unless a valid one was cached or it is the returned one
+   * @return the icon to show until then
+   */
+  @NotNull
+  public Icon getIcon(@NotNull Link link, @NotNull Disposable parent, @NotNull Consumer<Icon> onReady) {
+    if (link.getIcon() != null) {
+      return link.getIcon();
+    }
+    VirtualFile file = link.getVirtualFile();
+    if (file == null) {
+      return AllIcons.FileTypes.Any_type;
+    }
+
+    FileIcon cached = fileIcons.get(file);
+    if (cached != null && cached.isValidFor(file)) {
+      return cached.icon();
+    }
+
+    Icon icon = cached != null ? cached.icon() : getTypeIcon(file);
+    ReadAction.nonBlocking(() -> computeIcon(file))
+      .expireWith(parent)
+      .finishOnUiThread(ModalityState.any(), fileIcon -> {
+        if (fileIcon != null) {
+          fileIcons.put(file, fileIcon);
+          if (!fileIcon.icon().equals(icon)) {
+            onReady.accept(fileIcon.icon());
+          }
+        }
+      })
+      .submit(executor);
+
+    return icon;
+  }
+
+  private FileIcon computeIcon(@NotNull VirtualFile file) {
+    if (!file.isValid() || project.isDisposed()) {
+      return null;
+    }
+    FileType fileType = file.getFileType();
+    boolean writable = file.isWritable();
+    long stamp = file.getModificationStamp();
+    return new FileIcon(IconUtil.computeFileIcon(file, Iconable.ICON_FLAG_READ_STATUS, project), fileType, writable, stamp);
+  }
+
+  @NotNull
+  private Icon getTypeIcon(@NotNull VirtualFile file) {
+    return typeIcons.computeIfAbsent(new TypeKey(file.getFileType(), file.isWritable()), key -> {
+      Icon icon = ObjectUtils.notNull(key.fileType().getIcon(), AllIcons.FileTypes.Any_type);
+      return key.writable() ? icon : LayeredIcon.create(icon, AllIcons.Nodes.Locked);
+    });
+  }
+
+  private record TypeKey(@NotNull FileType fileType, boolean writable) {
+  }
+
+  private record FileIcon(@NotNull Icon icon, @NotNull FileType fileType, boolean writable, long stamp) {
+    boolean isValidFor(@NotNull VirtualFile file) {
+      return stamp == file.getModificationStamp() && writable == file.isWritable() && fileType == file.getFileType();
+    }
+  }
+}
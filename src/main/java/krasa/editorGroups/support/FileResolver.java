@@ -17,6 +17,7 @@ import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import krasa.editorGroups.ApplicationConfiguration;
 import krasa.editorGroups.index.MyFileNameIndexService;
+import krasa.editorGroups.jfr.ResolveLinksEvent;
 import krasa.editorGroups.language.EditorGroupsLanguage;
 import krasa.editorGroups.model.EditorGroupIndexValue;
 import krasa.editorGroups.model.Link;
@@ -46,6 +47,11 @@ public class FileResolver {
   protected final Project project;
   protected final boolean excludeEditorGroupsFiles;
   private final Set<String> links;
+  private int filesVisited;
+  @Nullable
+  private LinkSink sink;
+  private final List<String> unpublished = new ArrayList<>();
+  private long lastPublished;
   protected ApplicationConfiguration config;
 
 
@@ -58,9 +64,39 @@ public class FileResolver {
     return resolveLinks(project, group.getOwnerPath(), group.getRoot(), group.getRelatedPaths(), group);
   }
 
+  /**
+   * With a sink, resolves up to {@link ApplicationConfiguration#getGroupSizeHardLimitInt()} links, publishing newly found links
+   * to the sink at most every {@link LinkSink#INTERVAL_MS}; without one, up to {@link ApplicationConfiguration#getGroupSizeLimitInt()}.
+   * Only the returned list is sorted. {@link #getFilesVisited()} is kept even when cancelled.
+   */
+  @NotNull
+  public List<Link> resolveLinks(@NotNull EditorGroupIndexValue group, @Nullable LinkSink sink) throws ProcessCanceledException {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(">resolveLinks [" + group + "], project = [" + project.getName() + "]");
+    }
+
+    this.sink = sink;
+    lastPublished = System.currentTimeMillis();
+    return resolveWithEvent(group.getOwnerPath(), group.getRoot(), group.getRelatedPaths(), group);
+  }
+
   @NotNull
   public static List<Link> resolveLinks(@NotNull Project project, @Nullable String ownerFilePath, String root, List<String> relatedPaths, EditorGroupIndexValue group) {
-    return new FileResolver(project).resolve(ownerFilePath, root, relatedPaths, group);
+    return new FileResolver(project).resolveWithEvent(ownerFilePath, root, relatedPaths, group);
+  }
+
+  @NotNull
+  private List<Link> resolveWithEvent(@Nullable String ownerFilePath, String root, List<String> relatedPaths, EditorGroupIndexValue group) {
+    ResolveLinksEvent event = new ResolveLinksEvent();
+    event.begin();
+    try {
+      return resolve(ownerFilePath, root, relatedPaths, group);
+    } catch (ProcessCanceledException e) {
+      event.cancelled = true;
+      throw e;
+    } finally {
+      event.finish(group != null ? group.getId() : ownerFilePath, links.size(), filesVisited);
+    }
   }
 
   public FileResolver(Project project) {
@@ -92,6 +128,10 @@ public class FileResolver {
     return links;
   }
 
+  public int getFilesVisited() {
+    return filesVisited;
+  }
+
   @NotNull
   private List<Link> resolve(@Nullable String ownerFilePath, String root, List<String> relatedPaths, EditorGroupIndexValue group) {
     try {
@@ -277,11 +317,21 @@ public class FileResolver {
   }
 
   protected void add(File file, boolean definedManually) throws IOException {
-    if (links.size() > config.getGroupSizeLimitInt()) {
+    filesVisited++;
+    int limit = sink != null ? config.getGroupSizeHardLimitInt() : config.getGroupSizeLimitInt();
+    if (links.size() > limit) {
       throw new TooManyFilesException();
     }
     if (file.isFile() && !(!definedManually && excluded(file, excludeEditorGroupsFiles))) {
-      links.add(Utils.getCanonicalPath(file));
+      String path = sanitize(Utils.getCanonicalPath(file));
+      if (links.add(path) && sink != null) {
+        unpublished.add(path);
+        if (System.currentTimeMillis() - lastPublished >= LinkSink.INTERVAL_MS) {
+          sink.onLinks(Link.fromUnsorted(unpublished, project));
+          unpublished.clear();
+          lastPublished = System.currentTimeMillis();
+        }
+      }
     }
   }
 
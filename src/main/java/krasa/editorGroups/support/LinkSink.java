@@ -0,0 +1,22 @@
+package krasa.editorGroups.support;
+
+import krasa.editorGroups.model.Link;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Receives links of a group while it is still being resolved, see {@link FileResolver} and {@link RegexFileResolver}.
+ */
+public interface LinkSink {
+
+  /**
+   * minimal delay between two calls of {@link #onLinks}
+   */
+  long INTERVAL_MS = 100;
+
+  /**
+   * @param links links found since the previous call, not sorted yet, the owner or the current file comes in the first call
+   */
+  void onLinks(@NotNull List<Link> links);
+}
@@ -1,6 +1,7 @@
 package krasa.editorGroups.support;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
@@ -8,13 +9,15 @@ import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileVisitor;
 import krasa.editorGroups.ApplicationConfiguration;
+import krasa.editorGroups.jfr.ResolveRegexGroupEvent;
 import krasa.editorGroups.model.Link;
 import krasa.editorGroups.model.RegexGroup;
 import krasa.editorGroups.model.RegexGroupModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -23,32 +26,70 @@ import java.util.regex.Matcher;
 public class RegexFileResolver {
   private static final Logger LOG = Logger.getInstance(RegexFileResolver.class);
   private final Project project;
-  protected Set<VirtualFile> links = new HashSet<>();
+  protected Set<VirtualFile> links = new LinkedHashSet<>();
   protected ApplicationConfiguration config;
+  private int filesVisited;
+  @Nullable
+  private final LinkSink sink;
+  private final List<VirtualFile> unpublished = new ArrayList<>();
+  private long lastPublished;
 
   public RegexFileResolver(Project project) {
+    this(project, null);
+  }
+
+  /**
+   * @param sink when not null, receives newly found links at most every {@link LinkSink#INTERVAL_MS}, starting with the current file,
+   *             and the group grows up to {@link ApplicationConfiguration#getGroupSizeHardLimitInt()}
+   */
+  public RegexFileResolver(Project project, @Nullable LinkSink sink) {
     this.project = project;
+    this.sink = sink;
     config = ApplicationConfiguration.state();
   }
 
   public List<Link> resolveRegexGroupLinks(@NotNull RegexGroup regexGroup, @Nullable VirtualFile currentFile) {
     LOG.debug(">resolveRegexGroupLinks");
     long start = System.currentTimeMillis();
+    ResolveRegexGroupEvent event = new ResolveRegexGroupEvent();
+    event.begin();
+    try {
+      return resolveRegexGroupLinks2(regexGroup, currentFile, start);
+    } catch (ProcessCanceledException e) {
+      event.cancelled = true;
+      throw e;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.groupId = regexGroup.getId();
+        event.linkCount = links.size();
+        event.filesVisited = filesVisited;
+        event.commit();
+      }
+    }
+  }
+
+  private List<Link> resolveRegexGroupLinks2(@NotNull RegexGroup regexGroup, @Nullable VirtualFile currentFile, long start) {
     RegexGroupModel regexGroupModel = regexGroup.getRegexGroupModel();
     Matcher referenceMatcher = regexGroup.getReferenceMatcher();
 
     if (currentFile != null) {
       //always include it in case there are to many matches
       links.add(currentFile);
+      if (sink != null) {
+        unpublished.add(currentFile);
+      }
     }
 
+    lastPublished = start;
+    int limit = sink != null ? config.getGroupSizeHardLimitInt() : config.getGroupSizeLimitInt();
     Matcher groupMatcher = regexGroupModel.getRegexPattern().matcher("");
     ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
     List<VirtualFile> folders = regexGroup.getScopes(project);
     try {
       for (VirtualFile dir : folders) {
         if (dir != null) {
-          processFolders2(regexGroup, regexGroupModel, referenceMatcher, groupMatcher, projectFileIndex, dir);
+          processFolders2(regexGroup, regexGroupModel, referenceMatcher, groupMatcher, projectFileIndex, dir, limit);
         }
       }
     } catch (TooManyFilesException e) {
@@ -70,7 +111,7 @@ public class RegexFileResolver {
     return Link.fromVirtualFiles(links, project);
   }
 
-  private void processFolders2(@NotNull RegexGroup regexGroup, RegexGroupModel regexGroupModel, @Nullable Matcher referenceMatcher, Matcher groupMatcher, ProjectFileIndex projectFileIndex, @NotNull VirtualFile folder) {
+  private void processFolders2(@NotNull RegexGroup regexGroup, RegexGroupModel regexGroupModel, @Nullable Matcher referenceMatcher, Matcher groupMatcher, ProjectFileIndex projectFileIndex, @NotNull VirtualFile folder, int limit) {
     VfsUtilCore.visitChildrenRecursively(folder, new VirtualFileVisitor<>() {
       @NotNull
       @Override
@@ -87,12 +128,20 @@ public class RegexFileResolver {
             }
           }
         } else {
+          filesVisited++;
           Matcher matcher = groupMatcher.reset(child.getName());
           if (matches(regexGroupModel, referenceMatcher, matcher)) {
-            links.add(child);
-            if (links.size() > config.getGroupSizeLimitInt()) {
+            if (links.add(child) && sink != null) {
+              unpublished.add(child);
+            }
+            if (links.size() > limit) {
               throw new TooManyFilesException();
             }
+            if (!unpublished.isEmpty() && System.currentTimeMillis() - lastPublished >= LinkSink.INTERVAL_MS) {
+              sink.onLinks(Link.fromVirtualFilesUnsorted(unpublished, project));
+              unpublished.clear();
+              lastPublished = System.currentTimeMillis();
+            }
           }
         }
         return CONTINUE;
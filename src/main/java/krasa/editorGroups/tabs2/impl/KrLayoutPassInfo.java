@@ -10,6 +10,9 @@ import java.util.List;
 
 public abstract class KrLayoutPassInfo {
   public final List<KrTabInfo> myVisibleInfos;
+  private final int myTabsVersion;
+  @Nullable
+  private final KrTabInfo mySelectedInfo;
 
   @NotNull
   public Rectangle entryPointRect = new Rectangle();
@@ -18,8 +21,31 @@ public abstract class KrLayoutPassInfo {
   @NotNull
   public Rectangle titleRect = new Rectangle();
 
-  protected KrLayoutPassInfo(List<KrTabInfo> visibleInfos) {
+  protected KrLayoutPassInfo(@NotNull KrTabsImpl tabs, List<KrTabInfo> visibleInfos) {
     myVisibleInfos = visibleInfos;
+    myTabsVersion = tabs.getTabsVersion();
+    mySelectedInfo = tabs.getSelectedInfo();
+  }
+
+  /**
+   * Whether this pass was made for the same tabs, in the same order and with the same selection. Layouts reuse such a pass
+   * when the available size did not change and no label was invalidated.
+   */
+  public boolean isSameTabs(@NotNull KrTabsImpl tabs, @NotNull List<KrTabInfo> visibleInfos) {
+    return !tabs.getForcedRelayout$EditorGroups() &&
+      myTabsVersion == tabs.getTabsVersion() &&
+      mySelectedInfo == tabs.getSelectedInfo() &&
+      myVisibleInfos.equals(visibleInfos);
+  }
+
+  public static boolean areLabelsValid(@NotNull KrTabsImpl tabs, @NotNull List<KrTabInfo> visibleInfos) {
+    for (KrTabInfo each : visibleInfos) {
+      KrTabLabel label = tabs.getInfoToLabel().get(each);
+      if (label == null || !label.isValid()) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Nullable
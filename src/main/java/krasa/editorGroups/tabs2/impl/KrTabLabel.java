@@ -2,6 +2,7 @@
 package krasa.editorGroups.tabs2.impl;
 
 import com.intellij.ide.DataManager;
+import com.intellij.ide.ui.AntialiasingType;
 import com.intellij.ide.ui.UISettings;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.diagnostic.Logger;
@@ -12,6 +13,7 @@ import com.intellij.openapi.ui.popup.util.PopupUtil;
 import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.ui.*;
+import com.intellij.ui.AnimatedIcon;
 import com.intellij.ui.awt.RelativePoint;
 import com.intellij.ui.components.panels.Wrapper;
 import com.intellij.ui.scale.JBUIScale;
@@ -34,6 +36,7 @@ import javax.accessibility.AccessibleRole;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -58,6 +61,17 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
   private final Wrapper myLabelPlaceholder = new Wrapper(false);
   protected final KrTabsImpl myTabs;
 
+  /**
+   * bumped whenever the text, icons or decoration change, see {@link #paintCached}
+   */
+  private int myContentVersion;
+  private @Nullable BufferedImage myCachedImage;
+  private @Nullable PaintKey myCachedImageKey;
+  /**
+   * layouts ask for the preferred size of every label in each pass, kept until the label is invalidated
+   */
+  private @Nullable Dimension myPreferredSize;
+
   public KrTabLabel(KrTabsImpl tabs, final KrTabInfo info) {
     super(false);
 
@@ -262,7 +276,20 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
   }
 
   public Dimension getNotStrictPreferredSize() {
-    return super.getPreferredSize();
+    Dimension size = myPreferredSize;
+    if (size == null) {
+      size = super.getPreferredSize();
+      if (isValid()) {
+        myPreferredSize = size;
+      }
+    }
+    return new Dimension(size);
+  }
+
+  @Override
+  public void invalidate() {
+    myPreferredSize = null;
+    super.invalidate();
   }
 
   public void setAlignmentToCenter(boolean toCenter) {
@@ -278,6 +305,7 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
     myLabelPlaceholder.setContent(content);
 
     myCentered = toCenter;
+    invalidateCachedImage();
   }
 
 
@@ -297,12 +325,88 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
       }
       return;
     }
+    if (paintCached(g)) {
+      return;
+    }
     doPaint(g);
     if (shouldPaintFadeout()) {
       paintFadeout(g);
     }
   }
 
+  /**
+   * Hovering, focus changes and scrolling repaint every label, so the label is painted into a HiDPI aware offscreen
+   * image once and then only copied, until anything it shows changes.
+   *
+   * @return false when the label has to be painted directly, also for subpixel antialiased text, which a transparent
+   * image cannot keep, and for animated icons
+   */
+  private boolean paintCached(Graphics g) {
+    int width = getWidth();
+    int height = getHeight();
+    if (width <= 0 || height <= 0 || myActionPanel != null || !(g instanceof Graphics2D g2d)
+        || isSubpixelText(g2d) || myInfo.getIcon() instanceof AnimatedIcon) {
+      return false;
+    }
+
+    PaintKey key = createPaintKey(g2d);
+    BufferedImage image = myCachedImage;
+    if (image == null || !key.equals(myCachedImageKey)) {
+      image = ImageUtil.createImage(g2d, width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D imageGraphics = image.createGraphics();
+      try {
+        imageGraphics.setFont(g2d.getFont());
+        imageGraphics.setRenderingHints(g2d.getRenderingHints());
+        doPaint(imageGraphics);
+        if (shouldPaintFadeout()) {
+          paintFadeout(imageGraphics);
+        }
+      } finally {
+        imageGraphics.dispose();
+      }
+      myCachedImage = image;
+      myCachedImageKey = key;
+    }
+    StartupUiUtil.drawImage(g, image, 0, 0, null);
+    return true;
+  }
+
+  private static boolean isSubpixelText(Graphics2D g) {
+    if (UISettings.getShadowInstance().getIdeAAType() == AntialiasingType.SUBPIXEL) {
+      return true;
+    }
+    Object hint = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+    return hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR
+      || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR;
+  }
+
+  private @NotNull PaintKey createPaintKey(Graphics2D g) {
+    return new PaintKey(myContentVersion, getWidth(), getHeight(), Math.min(getX(), 0), myLabelPlaceholder.getBounds(),
+      g.getTransform().getScaleX(), getEffectiveBackground(), isSelected(), isHovered(), isFocusOwner(),
+      myTabs.isActiveTabs(myInfo), myTabs.getVisibleInfos().size() > 1, myTabs.isSingleRow(),
+      getLayeredIcon().isLayerEnabled(1));
+  }
+
+  /**
+   * everything that changes how the label looks, besides {@link #myContentVersion}
+   */
+  private record PaintKey(int contentVersion, int width, int height, int fadeoutX, Rectangle contentBounds, double scale,
+                          Color background, boolean selected, boolean hovered, boolean focused, boolean active,
+                          boolean multipleTabs, boolean singleRow, boolean attractionVisible) {
+  }
+
+  private void invalidateCachedImage() {
+    myContentVersion++;
+    myCachedImage = null;
+    myPreferredSize = null;
+  }
+
+  @Override
+  public void updateUI() {
+    super.updateUI();
+    invalidateCachedImage();
+  }
+
   protected boolean shouldPaintFadeout() {
     return !Registry.is("ui.no.bangs.and.whistles", false) && myTabs.isSingleRow();
   }
@@ -432,6 +536,7 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
       }
     }, false);
 
+    invalidateCachedImage();
     invalidateIfNeeded();
   }
 
@@ -481,6 +586,7 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
       myLabel.setIcon(null);
     }
 
+    invalidateCachedImage();
     invalidateIfNeeded();
   }
 
@@ -530,6 +636,7 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
 
     Insets contentInsets = resultDec.contentInsetsSupplier().apply(getActionsPosition());
     myLabelPlaceholder.setBorder(IdeBorderFactory.createEmptyBorder(contentInsets));
+    invalidateCachedImage();
   }
 
   public static KrTabLabel.MergedUiDecoration mergeUiDecorations(@NotNull KrUiDecorator.UiDecoration customDec,
@@ -593,6 +700,9 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
   }
 
   public void enableCompressionMode(boolean enabled) {
+    if (isCompressionEnabled != enabled) {
+      invalidateCachedImage();
+    }
     isCompressionEnabled = enabled;
   }
 
@@ -755,6 +865,7 @@ public class KrTabLabel extends JPanel implements Accessible, DataProvider {
 
   public void setTabEnabled(boolean enabled) {
     getLabelComponent().setEnabled(enabled);
+    invalidateCachedImage();
   }
 
   public JComponent getLabelComponent() {
@@ -36,7 +36,6 @@ import com.intellij.ui.scale.JBUIScale
 import com.intellij.ui.switcher.QuickActionProvider
 import com.intellij.ui.tabs.impl.MorePopupAware
 import com.intellij.ui.tabs.impl.SingleHeightTabs
-import com.intellij.util.Alarm
 import com.intellij.util.concurrency.annotations.RequiresEdt
 import com.intellij.util.containers.ContainerUtil
 import com.intellij.util.ui.*
@@ -82,7 +81,6 @@ open class KrTabsImpl(private var project: Project?,
                       parentDisposable: Disposable) : JComponent(),
   KrTabsEx,
   PropertyChangeListener,
-  TimerListener,
   DataProvider,
   PopupMenuListener,
   KrTabsPresentation,
@@ -195,6 +193,12 @@ open class KrTabsImpl(private var project: Project?,
   internal var forcedRelayout: Boolean = false
     private set
 
+  /**
+   * Incremented whenever tabs are added, removed, hidden or reordered.
+   */
+  var tabsVersion: Int = 0
+    private set
+
   internal var uiDecorator: KrUiDecorator? = null
   private var paintFocus = false
   private var hideTabs = false
@@ -337,7 +341,7 @@ open class KrTabsImpl(private var project: Project?,
       val e = MouseEventAdapter.convert(event, fakeScrollPane, event.id, event.getWhen(), modifiers, event.x, event.y)
       MouseEventAdapter.redispatch(e, fakeScrollPane)
     }
-    addMouseMotionAwtListener(parentDisposable)
+    KrTabsMouseMotionDispatcher.register(this, parentDisposable)
     isFocusTraversalPolicyProvider = true
     focusTraversalPolicy = object : LayoutFocusTraversalPolicy() {
       override fun getDefaultComponent(aContainer: Container): Component? = toFocus
@@ -383,36 +387,12 @@ open class KrTabsImpl(private var project: Project?,
     scrollBarChangeListener = ChangeListener { updateTabsOffsetFromScrollBar() }
   }
 
-  private fun addMouseMotionAwtListener(parentDisposable: Disposable) {
-    StartupUiUtil.addAwtListener(object : AWTEventListener {
-      val afterScroll = Alarm(parentDisposable)
-
-      override fun eventDispatched(event: AWTEvent) {
-        val tabRectangle = lastLayoutPass?.headerRectangle ?: return
-        event as MouseEvent
-        val point = event.point
-        SwingUtilities.convertPointToScreen(point, event.component)
-        var rectangle = visibleRect
-        rectangle = rectangle.intersection(tabRectangle)
-        val p = rectangle.location
-        SwingUtilities.convertPointToScreen(p, this@KrTabsImpl)
-        rectangle.location = p
-        val inside = rectangle.contains(point)
-        if (inside == isMouseInsideTabsArea) {
-          return
-        }
-
-        isMouseInsideTabsArea = inside
-        afterScroll.cancelAllRequests()
-        if (!inside) {
-          afterScroll.addRequest({
-            if (!isMouseInsideTabsArea) {
-              relayout(false, false)
-            }
-          }, 500)
-        }
-      }
-    }, AWTEvent.MOUSE_MOTION_EVENT_MASK, parentDisposable)
+  /**
+   * @param point in coordinates of this component
+   */
+  internal fun isInsideHeader(point: Point): Boolean {
+    val tabRectangle = lastLayoutPass?.headerRectangle ?: return false
+    return visibleRect.intersection(tabRectangle).contains(point)
   }
 
   private fun isInsideTabsArea(x: Int, y: Int): Boolean {
@@ -555,6 +535,7 @@ open class KrTabsImpl(private var project: Project?,
   @RequiresEdt
   fun resetTabsCache() {
     allTabs = null
+    tabsVersion++
   }
 
   private fun processFocusChange() {
@@ -584,7 +565,7 @@ open class KrTabsImpl(private var project: Project?,
 
   override fun addNotify() {
     super.addNotify()
-    addTimerUpdate()
+    updateTimerUpdate()
     scrollBarModel.addChangeListener(scrollBarChangeListener)
     if (deferredFocusRequest != null) {
       val request = deferredFocusRequest!!
@@ -628,16 +609,28 @@ open class KrTabsImpl(private var project: Project?,
     super.processMouseEvent(e)
   }
 
+  /**
+   * Tab actions are updated when tabs or their presentation change. The timer is only needed to keep the presentation of
+   * the actions themselves up to date, so it runs only while some tab has actions.
+   */
+  private fun updateTimerUpdate() {
+    if (isDisplayable && infoToLabel.keys.any { it.tabLabelActions != null }) {
+      addTimerUpdate()
+    } else {
+      removeTimerUpdate()
+    }
+  }
+
   private fun addTimerUpdate() {
     if (!listenerAdded) {
-      ActionManager.getInstance().addTimerListener(this)
+      ActionManager.getInstance().addTimerListener(tabActionsTimerListener)
       listenerAdded = true
     }
   }
 
   private fun removeTimerUpdate() {
     if (listenerAdded) {
-      ActionManager.getInstance().removeTimerListener(this)
+      ActionManager.getInstance().removeTimerListener(tabActionsTimerListener)
       listenerAdded = false
     }
   }
@@ -742,10 +735,12 @@ open class KrTabsImpl(private var project: Project?,
     }
   }
 
-  override fun getModalityState(): ModalityState = ModalityState.stateForComponent(this)
+  private val tabActionsTimerListener = object : TimerListener {
+    override fun getModalityState(): ModalityState = ModalityState.stateForComponent(this@KrTabsImpl)
 
-  override fun run() {
-    updateTabActions(false)
+    override fun run() {
+      updateTabActions(false)
+    }
   }
 
   override fun updateTabActions(validateNow: Boolean) {
@@ -1412,11 +1407,13 @@ open class KrTabsImpl(private var project: Project?,
 
       KrTabInfo.TEXT == evt.propertyName -> {
         updateText(tabInfo)
+        infoToLabel[tabInfo]?.updateTabActions()
         revalidateAndRepaint()
       }
 
       KrTabInfo.ICON == evt.propertyName -> {
         updateIcon(tabInfo)
+        infoToLabel[tabInfo]?.updateTabActions()
         revalidateAndRepaint()
       }
 
@@ -1502,7 +1499,8 @@ open class KrTabsImpl(private var project: Project?,
   }
 
   private fun updateIcon(tabInfo: KrTabInfo) {
-    infoToLabel[tabInfo]!!.setIcon(tabInfo.icon)
+    // icons computed in background can arrive after the tab was removed
+    infoToLabel[tabInfo]?.setIcon(tabInfo.icon)
   }
 
   fun revalidateAndRepaint() {
@@ -1558,6 +1556,7 @@ open class KrTabsImpl(private var project: Project?,
 
   private fun updateTabActions(info: KrTabInfo) {
     infoToLabel[info]!!.setTabActions(info.tabLabelActions)
+    updateTimerUpdate()
   }
 
   override fun getSelectedInfo(): KrTabInfo? {
@@ -2229,6 +2228,7 @@ open class KrTabsImpl(private var project: Project?,
       tabLabelAtMouse = null
     }
     resetTabsCache()
+    updateTimerUpdate()
     updateAll(false)
   }
 
@@ -2891,6 +2891,7 @@ open class KrTabsImpl(private var project: Project?,
     val targetIndex = visibleInfos.indexOf(target)
     visibleInfos.remove(source)
     visibleInfos.add(targetIndex, source)
+    tabsVersion++
     invalidate()
     relayout(forced = true, layoutNow = true)
   }
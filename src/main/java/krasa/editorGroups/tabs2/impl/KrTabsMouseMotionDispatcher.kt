@@ -0,0 +1,110 @@
+package krasa.editorGroups.tabs2.impl
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.util.Disposer
+import com.intellij.util.Alarm
+import com.intellij.util.ui.StartupUiUtil
+import java.awt.AWTEvent
+import java.awt.Component
+import java.awt.event.AWTEventListener
+import java.awt.event.MouseEvent
+import javax.swing.SwingUtilities
+
+/**
+ * One global mouse motion listener for all tabs instead of one per [KrTabsImpl].
+ *
+ * The tabs under the cursor are found by walking up from the event component, so the cost of an event does not depend on
+ * the number of open editors. Only the tabs the mouse was inside are notified when it leaves them.
+ */
+internal object KrTabsMouseMotionDispatcher {
+  private const val RELAYOUT_DELAY_MS = 500
+
+  private val registered = HashSet<KrTabsImpl>()
+  private val leftTabs = LinkedHashSet<KrTabsImpl>()
+  private var listenerDisposable: Disposable? = null
+  private var afterScroll: Alarm? = null
+  private var current: KrTabsImpl? = null
+
+  private val listener = AWTEventListener { event -> dispatch(event as MouseEvent) }
+
+  fun register(tabs: KrTabsImpl, parentDisposable: Disposable) {
+    if (registered.isEmpty()) {
+      val disposable = Disposer.newDisposable("KrTabsMouseMotionDispatcher")
+      StartupUiUtil.addAwtListener(listener, AWTEvent.MOUSE_MOTION_EVENT_MASK, disposable)
+      afterScroll = Alarm(disposable)
+      listenerDisposable = disposable
+    }
+    registered.add(tabs)
+    Disposer.register(parentDisposable) { unregister(tabs) }
+  }
+
+  private fun unregister(tabs: KrTabsImpl) {
+    registered.remove(tabs)
+    leftTabs.remove(tabs)
+    if (current === tabs) {
+      current = null
+    }
+    if (registered.isEmpty()) {
+      listenerDisposable?.let { Disposer.dispose(it) }
+      listenerDisposable = null
+      afterScroll = null
+    }
+  }
+
+  private fun dispatch(event: MouseEvent) {
+    val component = event.component ?: return
+    val previous = current
+    var under = findTabs(component)
+    if (under == null && event.id == MouseEvent.MOUSE_DRAGGED) {
+      // dragged events go to the pressed component, check the tabs the mouse was inside
+      under = previous
+    }
+    if (under != null && !under.isInsideHeader(SwingUtilities.convertPoint(component, event.point, under))) {
+      under = null
+    }
+
+    if (previous != null && previous !== under) {
+      current = null
+      mouseInsideChanged(previous, false)
+    }
+    if (under != null) {
+      current = under
+      mouseInsideChanged(under, true)
+    }
+  }
+
+  private fun findTabs(component: Component): KrTabsImpl? {
+    var c: Component? = component
+    while (c != null) {
+      if (c is KrTabsImpl) {
+        return if (registered.contains(c)) c else null
+      }
+      c = c.parent
+    }
+    return null
+  }
+
+  private fun mouseInsideChanged(tabs: KrTabsImpl, inside: Boolean) {
+    if (tabs.isMouseInsideTabsArea == inside) {
+      return
+    }
+    tabs.isMouseInsideTabsArea = inside
+    if (inside) {
+      leftTabs.remove(tabs)
+      return
+    }
+
+    leftTabs.add(tabs)
+    val alarm = afterScroll ?: return
+    alarm.cancelAllRequests()
+    alarm.addRequest({
+      val toRelayout = ArrayList(leftTabs)
+      leftTabs.clear()
+      for (each in toRelayout) {
+        if (!each.isMouseInsideTabsArea) {
+          each.relayout(false, false)
+        }
+      }
+    }, RELAYOUT_DELAY_MS)
+  }
+}
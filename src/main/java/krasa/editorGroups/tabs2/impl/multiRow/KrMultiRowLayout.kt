@@ -16,12 +16,21 @@ abstract class KrMultiRowLayout(protected val tabs: KrTabsImpl,
   protected var prevLayoutPassInfo: KrMultiRowPassInfo? = null
 
   override fun layoutTable(visibleInfos: List<KrTabInfo>): KrLayoutPassInfo {
-    tabs.resetLayout(true)
-
     val insets = tabs.layoutInsets
     val toFitRec = Rectangle(insets.left, insets.top,
       tabs.width - insets.left - insets.right,
       tabs.height - insets.top - insets.bottom)
+
+    val prev = prevLayoutPassInfo
+    if (prev != null && !tabs.isHideTabs && prev.isReusableFor(visibleInfos, toFitRec)) {
+      // labels keep their bounds, only the selected component is laid out again
+      tabs.resetLayout(false)
+      layoutToolbars(prev)
+      tabs.selectedInfo?.let { layoutTabComponent(prev, it) }
+      return prev
+    }
+
+    tabs.resetLayout(true)
     val data = KrMultiRowPassInfo(tabs, visibleInfos, toFitRec, scrollOffset)
     prevLayoutPassInfo = data
 
@@ -34,14 +43,18 @@ abstract class KrMultiRowLayout(protected val tabs: KrTabsImpl,
       data.tabsRectangle = Rectangle(toFitRec.x, getRowY(data, topRowInd), toFitRec.width, data.rowCount * data.rowHeight)
     }
 
-    tabs.titleWrapper.bounds = data.titleRect
-    tabs.moreToolbar!!.component.bounds = data.moreRect
-    tabs.entryPointToolbar?.component?.bounds = data.entryPointRect
+    layoutToolbars(data)
 
     tabs.selectedInfo?.let { layoutTabComponent(data, it) }
     return data
   }
 
+  private fun layoutToolbars(data: KrMultiRowPassInfo) {
+    tabs.titleWrapper.bounds = data.titleRect
+    tabs.moreToolbar!!.component.bounds = data.moreRect
+    tabs.entryPointToolbar?.component?.bounds = data.entryPointRect
+  }
+
   protected abstract fun splitToRows(data: KrMultiRowPassInfo): List<KrTabsRow>
 
   private fun layoutRows(data: KrMultiRowPassInfo) {
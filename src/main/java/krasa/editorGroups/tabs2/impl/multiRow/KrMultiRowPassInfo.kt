@@ -10,17 +10,29 @@ class KrMultiRowPassInfo(val tabs: KrTabsImpl,
                          visibleInfos: List<KrTabInfo>,
                          val toFitRec: Rectangle,
                          val scrollOffset: Int
-) : KrLayoutPassInfo(visibleInfos) {
+) : KrLayoutPassInfo(tabs, visibleInfos) {
   val rows: MutableList<KrTabsRow> = mutableListOf()
   val lengths: MutableMap<KrTabInfo, Int> = HashMap()
 
   val rowHeight: Int
     get() = tabs.headerFitSize!!.height
 
+  private val layoutRowHeight: Int? = tabs.headerFitSize?.height
+
   var tabsRectangle: Rectangle = Rectangle()
   var reqLength: Int = toFitRec.width - toFitRec.x
   var tabsLength: Int = reqLength
 
+  /**
+   * Whether the rows of this pass can be kept for a layout of [visibleInfos] into [toFitRec].
+   */
+  fun isReusableFor(visibleInfos: List<KrTabInfo>, toFitRec: Rectangle): Boolean {
+    return isSameTabs(tabs, visibleInfos)
+      && this.toFitRec == toFitRec
+      && layoutRowHeight == tabs.headerFitSize?.height
+      && areLabelsValid(tabs, visibleInfos)
+  }
+
   override fun getRowCount(): Int = rows.size
 
   override fun getHeaderRectangle(): Rectangle = tabsRectangle.clone() as Rectangle
@@ -42,7 +42,11 @@ public class KrScrollableSingleRowLayout extends KrSingleRowLayout {
 
   @Override
   protected boolean checkLayoutLabels(KrSingleRowPassInfo data) {
-    return true;
+    if (super.checkLayoutLabels(data)) {
+      return true;
+    }
+    // the previous pass did not scroll to the selected tab, it is done once the mouse leaves
+    return !lastSingleRowLayout.scrolledToSelected && !myTabs.isMouseInsideTabsArea();
   }
 
   private void clampScrollOffsetToBounds(@Nullable KrSingleRowPassInfo data) {
@@ -65,6 +69,7 @@ public class KrScrollableSingleRowLayout extends KrSingleRowLayout {
 
   private void doScrollToSelectedTab(KrSingleRowPassInfo passInfo) {
     if (myTabs.isMouseInsideTabsArea()) {
+      passInfo.scrolledToSelected = false;
       return;
     }
     int offset = -myScrollOffset;
@@ -59,22 +59,14 @@ public abstract class KrSingleRowLayout extends KrTabLayout {
   protected boolean checkLayoutLabels(KrSingleRowPassInfo data) {
     boolean layoutLabels = true;
 
-    if (!myTabs.getForcedRelayout$EditorGroups() &&
-      lastSingleRowLayout != null &&
-      lastSingleRowLayout.contentCount == myTabs.getTabCount() &&
-      lastSingleRowLayout.layoutSize.equals(myTabs.getSize()) &&
-      lastSingleRowLayout.scrollOffset == getScrollOffset()) {
-      for (KrTabInfo each : data.myVisibleInfos) {
-        final KrTabLabel eachLabel = myTabs.getInfoToLabel().get(each);
-        if (!eachLabel.isValid()) {
-          layoutLabels = true;
-          break;
-        }
-        if (myTabs.getSelectedInfo() == each) {
-          if (eachLabel.getBounds().width != 0) {
-            layoutLabels = false;
-          }
-        }
+    if (lastSingleRowLayout != null &&
+      lastSingleRowLayout.isSameTabs(myTabs, data.myVisibleInfos) &&
+      lastSingleRowLayout.layoutSize.equals(data.layoutSize) &&
+      lastSingleRowLayout.scrollOffset == data.scrollOffset &&
+      KrLayoutPassInfo.areLabelsValid(myTabs, data.myVisibleInfos)) {
+      final KrTabInfo selected = myTabs.getSelectedInfo();
+      if (selected != null && myTabs.getInfoToLabel().get(selected).getBounds().width != 0) {
+        layoutLabels = false;
       }
     }
 
@@ -15,7 +15,6 @@ import java.util.List;
 public final class KrSingleRowPassInfo extends KrLayoutPassInfo {
   private final KrTabsImpl tabs;
   final Dimension layoutSize;
-  final int contentCount;
   int position;
   int requiredLength;
   int toFitLength;
@@ -32,12 +31,15 @@ public final class KrSingleRowPassInfo extends KrLayoutPassInfo {
   public WeakReference<JComponent> component;
   public Rectangle tabRectangle;
   final int scrollOffset;
+  /**
+   * false when scrolling to the selected tab was skipped because the mouse was inside the tabs
+   */
+  boolean scrolledToSelected = true;
 
   public KrSingleRowPassInfo(KrSingleRowLayout layout, List<KrTabInfo> visibleInfos) {
-    super(visibleInfos);
+    super(layout.myTabs, visibleInfos);
     tabs = layout.myTabs;
     layoutSize = tabs.getSize();
-    contentCount = tabs.getTabCount();
     toLayout = new ArrayList<>();
     toDrop = new ArrayList<>();
     entryPointAxisSize = layout.getStrategy().getEntryPointAxisSize();
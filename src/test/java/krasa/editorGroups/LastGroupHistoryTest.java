@@ -0,0 +1,53 @@
+package krasa.editorGroups;
+
+import junit.framework.TestCase;
+import krasa.editorGroups.model.AutoGroup;
+
+import java.util.List;
+
+public class LastGroupHistoryTest extends TestCase {
+
+	public void testKeepsNewest() {
+		LastGroupHistory history = new LastGroupHistory();
+		history.put("/first", "a");
+		for (int i = 0; i < LastGroupHistory.MAX_SIZE; i++) {
+			history.put("/file" + i, "g" + i);
+		}
+		assertNull(history.get("/first"));
+		assertEquals("g0", history.get("/file0"));
+
+		history.put("/file0", "g0");
+		history.put("/new", "n");
+		assertEquals("g0", history.get("/file0"));
+		assertNull(history.get("/file1"));
+	}
+
+	public void testStateIsOldestFirstAndReused() {
+		LastGroupHistory history = new LastGroupHistory();
+		history.put("/a", "1");
+		history.put("/b", AutoGroup.SAME_FILE_NAME);
+		history.put("/c", "3");
+		history.put("/a", "1");
+
+		List<ProjectComponent.StringPair> state = history.getState(true, true);
+		assertEquals(2, state.size());
+		assertEquals("/c", state.get(0).key);
+		assertEquals("/a", state.get(1).key);
+		assertSame(state, history.getState(true, true));
+		assertEquals(3, history.getState(false, true).size());
+
+		history.put("/d", "4");
+		assertNotSame(state, history.getState(true, true));
+	}
+
+	public void testLoadState() {
+		LastGroupHistory source = new LastGroupHistory();
+		source.put("/a", "1");
+		source.put("/b", "2");
+
+		LastGroupHistory history = new LastGroupHistory();
+		history.loadState(source.getState(false, false));
+		assertEquals("1", history.get("/a"));
+		assertEquals("/b", history.getState(false, false).get(1).key);
+	}
+}
@@ -0,0 +1,84 @@
+package krasa.editorGroups.api;
+
+import junit.framework.TestCase;
+import krasa.editorGroups.api.EditorGroupsApi.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class EditorGroupsApiTest extends TestCase {
+	private static final EditorGroupRef G1 = new EditorGroupRef("g1", "One", "/owner");
+	private static final EditorGroupRef G2 = new EditorGroupRef("g2", "Two", "/owner");
+	private static final EditorGroupRef G3 = new EditorGroupRef("g3", "", "/other");
+
+	public void testAddAndRemoveInOneBatchIsNotReported() {
+		Update update = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(
+			new GroupChange(G1, Set.of("/owner", "/a")),
+			new OwnerChanged("/owner", Set.of())));
+
+		assertTrue(update.snapshot().groupsByFile().isEmpty());
+		assertTrue(update.snapshot().membersById().isEmpty());
+		assertTrue(update.diff().added().isEmpty());
+		assertTrue(update.diff().removed().isEmpty());
+	}
+
+	public void testResolvedGroupReportsOnlyChangedFiles() {
+		Snapshot snapshot = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(new GroupChange(G1, Set.of("/owner", "/a", "/b")))).snapshot();
+
+		Update update = EditorGroupsApi.apply(snapshot, List.of(new GroupChange(G1, Set.of("/owner", "/b", "/c"))));
+
+		assertEquals(Map.of("/c", Set.of(G1)), update.diff().added());
+		assertEquals(Map.of("/a", Set.of(G1)), update.diff().removed());
+		assertNull(update.snapshot().groupsByFile().get("/a"));
+		assertEquals(List.of(G1), update.snapshot().groupsByFile().get("/c"));
+		assertEquals(Set.of("/owner", "/a", "/b"), snapshot.membersById().get("g1").files());
+	}
+
+	public void testUnchangedGroupKeepsTheSnapshot() {
+		Snapshot snapshot = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(new GroupChange(G1, Set.of("/owner", "/a")))).snapshot();
+
+		Update update = EditorGroupsApi.apply(snapshot, List.of(new GroupChange(G1, Set.of("/owner", "/a"))));
+
+		assertSame(snapshot, update.snapshot());
+		assertTrue(update.diff().added().isEmpty());
+		assertTrue(update.diff().removed().isEmpty());
+	}
+
+	public void testTitleChangeRemovesAndAddsAgain() {
+		Snapshot snapshot = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(new GroupChange(G1, Set.of("/owner", "/a")))).snapshot();
+		EditorGroupRef renamed = new EditorGroupRef("g1", "Renamed", "/owner");
+
+		Update update = EditorGroupsApi.apply(snapshot, List.of(new GroupChange(renamed, Set.of("/owner", "/a"))));
+
+		assertEquals(Map.of("/owner", Set.of(renamed), "/a", Set.of(renamed)), update.diff().added());
+		assertEquals(Map.of("/owner", Set.of(G1), "/a", Set.of(G1)), update.diff().removed());
+		assertEquals(List.of(renamed), update.snapshot().groupsByFile().get("/a"));
+	}
+
+	public void testOwnerChangedRetainsListedGroups() {
+		Snapshot snapshot = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(
+			new GroupChange(G1, Set.of("/owner", "/a")),
+			new GroupChange(G2, Set.of("/owner", "/a")),
+			new GroupChange(G3, Set.of("/other", "/a")))).snapshot();
+
+		Update update = EditorGroupsApi.apply(snapshot, List.of(new OwnerChanged("/owner", Set.of("g1"))));
+
+		assertTrue(update.diff().added().isEmpty());
+		assertEquals(Map.of("/owner", Set.of(G2), "/a", Set.of(G2)), update.diff().removed());
+		assertEquals(Set.of(G1, G3), Set.copyOf(update.snapshot().groupsByFile().get("/a")));
+		assertEquals(Set.of("g1", "g3"), update.snapshot().membersById().keySet());
+	}
+
+	public void testClearedRemovesEverything() {
+		Snapshot snapshot = EditorGroupsApi.apply(Snapshot.EMPTY, List.of(
+			new GroupChange(G1, Set.of("/owner")),
+			new GroupChange(G3, Set.of("/other", "/a")))).snapshot();
+
+		Update update = EditorGroupsApi.apply(snapshot, List.of(new Cleared()));
+
+		assertTrue(update.snapshot().groupsByFile().isEmpty());
+		assertTrue(update.diff().added().isEmpty());
+		assertEquals(Map.of("/owner", Set.of(G1), "/other", Set.of(G3), "/a", Set.of(G3)), update.diff().removed());
+	}
+}
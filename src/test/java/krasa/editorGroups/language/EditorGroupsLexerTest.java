@@ -0,0 +1,69 @@
+package krasa.editorGroups.language;
+
+import com.intellij.psi.tree.IElementType;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static krasa.editorGroups.language.EditorGroupsTokenTypes.*;
+
+public class EditorGroupsLexerTest extends TestCase {
+
+	public void testKeywordsAndValues() {
+		assertTokens("@group.id g1\n@group.related PROJECT/src/*.java\n@group.color AliceBlue",
+			METADATA, "@group.id", WHITE_SPACE, " ", TEXT, "g1", WHITE_SPACE, "\n",
+			KEYWORD, "@group.related", WHITE_SPACE, " ", MACRO, "PROJECT", TEXT, "/", TEXT, "src", TEXT, "/*.", TEXT, "java", WHITE_SPACE, "\n",
+			KEYWORD, "@group.color", WHITE_SPACE, " ", COLOR, "AliceBlue");
+	}
+
+	public void testKeywordsNeedWordBoundary() {
+		assertTokens("@group.titles @group.title",
+			TEXT, "@", TEXT, "group", TEXT, ".", TEXT, "titles", WHITE_SPACE, " ",
+			KEYWORD, "@group.title");
+	}
+
+	public void testCommentsAreText() {
+		assertTokens("// blue #x",
+			TEXT, "//", WHITE_SPACE, " ", COLOR, "blue", WHITE_SPACE, " ", TEXT, "#", TEXT, "x");
+		assertTokens("/* @group.disable */",
+			TEXT, "/*", WHITE_SPACE, " ", KEYWORD, "@group.disable", WHITE_SPACE, " ", TEXT, "*/");
+	}
+
+	public void testBadInput() {
+		assertTokens("");
+		assertTokens("@", TEXT, "@");
+		assertTokens("@@group.root", TEXT, "@", KEYWORD, "@group.root");
+		assertTokens("@group.", TEXT, "@", TEXT, "group", TEXT, ".");
+		assertTokens("project MODULE_x", TEXT, "project", WHITE_SPACE, " ", TEXT, "MODULE_x");
+	}
+
+	public void testRestartsInTheMiddle() {
+		String text = "x @group.title t";
+		EditorGroupsLexer lexer = new EditorGroupsLexer();
+		lexer.start(text, 2, text.length(), 0);
+		assertEquals(KEYWORD, lexer.getTokenType());
+		assertEquals(2, lexer.getTokenStart());
+		assertEquals("@group.title".length() + 2, lexer.getTokenEnd());
+		assertEquals(0, lexer.getState());
+	}
+
+	private static void assertTokens(String text, Object... expected) {
+		EditorGroupsLexer lexer = new EditorGroupsLexer();
+		lexer.start(text, 0, text.length(), 0);
+		List<String> actual = new ArrayList<>();
+		int offset = 0;
+		for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+			assertEquals(offset, lexer.getTokenStart());
+			actual.add(type + ":" + text.substring(lexer.getTokenStart(), lexer.getTokenEnd()));
+			offset = lexer.getTokenEnd();
+		}
+		assertEquals(text.length(), offset);
+
+		List<String> expectedTokens = new ArrayList<>();
+		for (int i = 0; i < expected.length; i += 2) {
+			expectedTokens.add(expected[i] + ":" + expected[i + 1]);
+		}
+		assertEquals(expectedTokens, actual);
+	}
+}